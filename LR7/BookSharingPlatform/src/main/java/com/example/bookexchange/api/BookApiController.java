@@ -1,33 +1,66 @@
 package com.example.bookexchange.api;
 
+import com.example.bookexchange.api.dto.AvailableCopyResponse;
 import com.example.bookexchange.api.dto.BookCreateRequest;
+import com.example.bookexchange.api.dto.BookImportResponse;
 import com.example.bookexchange.api.dto.BookResponse;
+import com.example.bookexchange.api.dto.BookSuggestionResponse;
+import com.example.bookexchange.api.dto.PageResponse;
+import com.example.bookexchange.controllers.BookImportUseCase;
 import com.example.bookexchange.controllers.BookUseCase;
+import com.example.bookexchange.controllers.InventoryUseCase;
+import com.example.bookexchange.models.AvailableCopy;
 import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.BookImportResult;
+import com.example.bookexchange.models.BookImportRow;
+import com.example.bookexchange.models.BookSuggestion;
+import com.example.bookexchange.models.CursorPage;
+import com.example.bookexchange.models.PageQuery;
 import com.example.bookexchange.shared.api.ApiResponse;
+import com.example.bookexchange.shared.concurrency.ExportLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/books")
 @RequiredArgsConstructor
 @Tag(name = "Catalog")
 public class BookApiController {
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
     private final BookUseCase bookUseCase;
+    private final BookImportUseCase bookImportUseCase;
+    private final InventoryUseCase inventoryUseCase;
+    private final ObjectMapper objectMapper;
+    private final ExportLimiter exportLimiter;
 
     @PostMapping
     @Operation(summary = "Add book to catalog")
@@ -36,22 +69,90 @@ public class BookApiController {
         return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.ok(toResponse(saved)));
     }
 
+    @PostMapping(value = "/import", consumes = {NDJSON, CSV})
+    @Operation(summary = "Bulk import books from NDJSON or CSV (title,author,isbn)")
+    public ResponseEntity<ApiResponse<BookImportResponse>> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                       InputStream body) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Stream<BookImportRow> rows = contentType.isCompatibleWith(MediaType.parseMediaType(CSV))
+                    ? BookImportReader.csv(reader)
+                    : BookImportReader.ndjson(reader, objectMapper);
+            return ResponseEntity.ok(ApiResponse.ok(toResponse(bookImportUseCase.importBooks(rows))));
+        }
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Autocomplete book titles and authors by prefix")
+    public ResponseEntity<ApiResponse<List<BookSuggestionResponse>>> suggest(@RequestParam("q") String prefix,
+                                                                             @RequestParam(required = false) Integer limit) {
+        List<BookSuggestionResponse> suggestions = bookUseCase.suggest(prefix, limit).stream()
+                .map(this::toResponse)
+                .toList();
+        return ResponseEntity.ok(ApiResponse.ok(suggestions));
+    }
+
     @GetMapping("/{bookId}")
     @Operation(summary = "Get book by id")
     public ResponseEntity<ApiResponse<BookResponse>> get(@PathVariable UUID bookId) {
         return ResponseEntity.ok(ApiResponse.ok(toResponse(bookUseCase.getBook(bookId))));
     }
 
+    @GetMapping("/{bookId}/available-copies")
+    @Operation(summary = "List copies available for exchange, best-rated owners first")
+    public ResponseEntity<ApiResponse<List<AvailableCopyResponse>>> availableCopies(Authentication authentication,
+                                                                                    @PathVariable UUID bookId,
+                                                                                    @RequestParam(required = false) Integer limit) {
+        UUID callerId = authentication != null && authentication.getPrincipal() instanceof UUID id ? id : null;
+        List<AvailableCopyResponse> copies = inventoryUseCase.getAvailableCopies(bookId, callerId, limit).stream()
+                .map(this::toResponse)
+                .toList();
+        return ResponseEntity.ok(ApiResponse.ok(copies));
+    }
+
     @GetMapping
     @Operation(summary = "Search books by filters")
-    public ResponseEntity<ApiResponse<List<BookResponse>>> search(@RequestParam(required = false) String title,
-                                                                  @RequestParam(required = false) String author,
-                                                                  @RequestParam(required = false) String isbn) {
-        List<BookResponse> response = bookUseCase.search(title, author, isbn).stream().map(this::toResponse).toList();
-        return ResponseEntity.ok(ApiResponse.ok(response));
+    public ResponseEntity<ApiResponse<PageResponse<BookResponse>>> search(@RequestParam(required = false) String title,
+                                                                          @RequestParam(required = false) String author,
+                                                                          @RequestParam(required = false) String isbn,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(required = false) Integer limit) {
+        CursorPage<BookResponse> page = bookUseCase.search(title, author, isbn, PageQuery.of(cursor, limit)).map(this::toResponse);
+        return ResponseEntity.ok(ApiResponse.ok(PageResponse.of(page)));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Stream every book matching the filters as one list, ordered by title")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) String title,
+                                                        @RequestParam(required = false) String author,
+                                                        @RequestParam(required = false) String isbn,
+                                                        HttpServletRequest request) {
+        exportLimiter.acquire(request);
+        return StreamingPageResponse.<BookResponse>ok(objectMapper,
+                sink -> bookUseCase.exportSearch(title, author, isbn, book -> sink.accept(toResponse(book))));
     }
 
     private BookResponse toResponse(Book book) {
         return new BookResponse(book.getId(), book.getTitle(), book.getAuthor(), book.getIsbn(), book.getRating());
     }
+
+    private BookSuggestionResponse toResponse(BookSuggestion suggestion) {
+        return new BookSuggestionResponse(suggestion.getText(), suggestion.getField().name(), suggestion.getBookId());
+    }
+
+    private AvailableCopyResponse toResponse(AvailableCopy copy) {
+        return new AvailableCopyResponse(copy.getInventoryId(), copy.getOwnerId(), copy.getOwnerUsername(),
+                copy.getOwnerRating(), copy.getCondition());
+    }
+
+    private BookImportResponse toResponse(BookImportResult result) {
+        return new BookImportResponse(
+                result.getReceived(),
+                result.getInserted(),
+                result.getDuplicates(),
+                result.getRejected(),
+                result.getFailures().stream()
+                        .map(f -> new BookImportResponse.Failure(f.getLine(), f.getIsbn(), f.getOutcome().name(), f.getMessage()))
+                        .toList(),
+                result.isFailuresTruncated());
+    }
 }
@@ -0,0 +1,131 @@
+package com.example.bookexchange.api;
+
+import com.example.bookexchange.models.BookImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+final class BookImportReader {
+    private static final List<String> DEFAULT_COLUMNS = List.of("title", "author", "isbn");
+
+    private BookImportReader() {
+    }
+
+    static Stream<BookImportRow> ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        AtomicLong lineNumber = new AtomicLong();
+        return reader.lines()
+                .map(line -> new NumberedLine(lineNumber.incrementAndGet(), line))
+                .filter(line -> !line.text().isBlank())
+                .map(line -> parseJson(line, objectMapper));
+    }
+
+    static Stream<BookImportRow> csv(BufferedReader reader) {
+        AtomicLong lineNumber = new AtomicLong();
+        List<String> columns = new ArrayList<>(DEFAULT_COLUMNS);
+        return reader.lines()
+                .map(line -> new NumberedLine(lineNumber.incrementAndGet(), line))
+                .filter(line -> !line.text().isBlank())
+                .filter(line -> line.number() != 1 || !readHeader(line.text(), columns))
+                .map(line -> parseCsv(line, columns));
+    }
+
+    private static BookImportRow parseJson(NumberedLine line, ObjectMapper objectMapper) {
+        try {
+            JsonNode node = objectMapper.readTree(line.text());
+            if (!node.isObject()) {
+                return invalid(line, "Expected a JSON object");
+            }
+            return BookImportRow.builder()
+                    .line(line.number())
+                    .title(text(node, "title"))
+                    .author(text(node, "author"))
+                    .isbn(text(node, "isbn"))
+                    .build();
+        } catch (JsonProcessingException ex) {
+            return invalid(line, "Malformed JSON");
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static boolean readHeader(String text, List<String> columns) {
+        List<String> fields = splitCsv(text);
+        if (fields == null) {
+            return false;
+        }
+        List<String> names = fields.stream().map(f -> f.trim().toLowerCase(Locale.ROOT)).toList();
+        if (!names.contains("title") || !names.contains("author")) {
+            return false;
+        }
+        columns.clear();
+        columns.addAll(names);
+        return true;
+    }
+
+    private static BookImportRow parseCsv(NumberedLine line, List<String> columns) {
+        List<String> fields = splitCsv(line.text());
+        if (fields == null) {
+            return invalid(line, "Malformed CSV line");
+        }
+        return BookImportRow.builder()
+                .line(line.number())
+                .title(field(fields, columns, "title"))
+                .author(field(fields, columns, "author"))
+                .isbn(field(fields, columns, "isbn"))
+                .build();
+    }
+
+    private static String field(List<String> fields, List<String> columns, String name) {
+        int index = columns.indexOf(name);
+        return index < 0 || index >= fields.size() ? null : fields.get(index);
+    }
+
+    // RFC 4180 fields on a single line; quoted fields may contain commas and doubled quotes.
+    private static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"' && current.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static BookImportRow invalid(NumberedLine line, String error) {
+        return BookImportRow.builder().line(line.number()).error(error).build();
+    }
+
+    private record NumberedLine(long number, String text) {
+    }
+}
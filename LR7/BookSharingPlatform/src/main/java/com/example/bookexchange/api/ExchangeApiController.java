@@ -4,15 +4,21 @@ import com.example.bookexchange.api.dto.ExchangeCreateRequest;
 import com.example.bookexchange.api.dto.ExchangeResponse;
 import com.example.bookexchange.api.dto.ExchangeStatusUpdateRequest;
 import com.example.bookexchange.api.dto.BookMovementResponse;
+import com.example.bookexchange.api.dto.PageResponse;
 import com.example.bookexchange.controllers.ExchangeUseCase;
-import com.example.bookexchange.models.BookMovement;
 import com.example.bookexchange.models.ExchangeRequest;
+import com.example.bookexchange.models.CursorPage;
+import com.example.bookexchange.models.PageQuery;
 import com.example.bookexchange.shared.api.ApiResponse;
+import com.example.bookexchange.shared.concurrency.ExportLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -21,9 +27,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -32,6 +40,9 @@ import java.util.UUID;
 @Tag(name = "Exchanges")
 public class ExchangeApiController {
     private final ExchangeUseCase exchangeUseCase;
+    private final ExchangeEventHub exchangeEventHub;
+    private final ObjectMapper objectMapper;
+    private final ExportLimiter exportLimiter;
 
     @PostMapping
     @Operation(summary = "Create exchange request for inventory item")
@@ -51,49 +62,50 @@ public class ExchangeApiController {
 
     @GetMapping("/incoming")
     @Operation(summary = "Incoming requests for owner")
-    public ResponseEntity<ApiResponse<List<ExchangeResponse>>> incoming(Authentication authentication) {
+    public ResponseEntity<ApiResponse<PageResponse<ExchangeResponse>>> incoming(Authentication authentication,
+                                                                                @RequestParam(required = false) String cursor,
+                                                                                @RequestParam(required = false) Integer limit) {
         UUID ownerId = (UUID) authentication.getPrincipal();
-        List<ExchangeResponse> response = exchangeUseCase.getIncoming(ownerId).stream().map(this::toResponse).toList();
-        return ResponseEntity.ok(ApiResponse.ok(response));
+        CursorPage<ExchangeResponse> page = exchangeUseCase.getIncoming(ownerId, PageQuery.of(cursor, limit));
+        return ResponseEntity.ok(ApiResponse.ok(PageResponse.of(page)));
+    }
+
+    @GetMapping(value = "/incoming/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Server-Sent Events feed of new and changed incoming requests for owner")
+    public SseEmitter incomingStream(Authentication authentication) {
+        UUID ownerId = (UUID) authentication.getPrincipal();
+        return exchangeEventHub.subscribe(ownerId);
     }
 
     @GetMapping("/outgoing")
     @Operation(summary = "Outgoing requests for requester")
-    public ResponseEntity<ApiResponse<List<ExchangeResponse>>> outgoing(Authentication authentication) {
+    public ResponseEntity<ApiResponse<PageResponse<ExchangeResponse>>> outgoing(Authentication authentication,
+                                                                                @RequestParam(required = false) String cursor,
+                                                                                @RequestParam(required = false) Integer limit) {
         UUID requesterId = (UUID) authentication.getPrincipal();
-        List<ExchangeResponse> response = exchangeUseCase.getOutgoing(requesterId).stream().map(this::toResponse).toList();
-        return ResponseEntity.ok(ApiResponse.ok(response));
+        CursorPage<ExchangeResponse> page = exchangeUseCase.getOutgoing(requesterId, PageQuery.of(cursor, limit));
+        return ResponseEntity.ok(ApiResponse.ok(PageResponse.of(page)));
     }
 
     @GetMapping("/history")
     @Operation(summary = "Get exchange movement history for current user")
-    public ResponseEntity<ApiResponse<List<BookMovementResponse>>> history(Authentication authentication) {
+    public ResponseEntity<ApiResponse<PageResponse<BookMovementResponse>>> history(Authentication authentication,
+                                                                                   @RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(required = false) Integer limit) {
         UUID userId = (UUID) authentication.getPrincipal();
-        List<BookMovementResponse> response = exchangeUseCase.getHistory(userId).stream().map(this::toMovementResponse).toList();
-        return ResponseEntity.ok(ApiResponse.ok(response));
+        CursorPage<BookMovementResponse> page = exchangeUseCase.getHistory(userId, PageQuery.of(cursor, limit));
+        return ResponseEntity.ok(ApiResponse.ok(PageResponse.of(page)));
     }
 
-    private ExchangeResponse toResponse(ExchangeRequest request) {
-        return new ExchangeResponse(
-                request.getId(),
-                request.getRequesterId(),
-                request.getOwnerId(),
-                request.getInventoryId(),
-                request.getStatus(),
-                request.getCreatedAt(),
-                request.getUpdatedAt()
-        );
+    @GetMapping(value = "/history/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Stream the whole movement history of current user as one list")
+    public ResponseEntity<StreamingResponseBody> exportHistory(Authentication authentication, HttpServletRequest request) {
+        UUID userId = (UUID) authentication.getPrincipal();
+        exportLimiter.acquire(request);
+        return StreamingPageResponse.<BookMovementResponse>ok(objectMapper, sink -> exchangeUseCase.exportHistory(userId, sink));
     }
 
-    private BookMovementResponse toMovementResponse(BookMovement movement) {
-        return new BookMovementResponse(
-                movement.getId(),
-                movement.getExchangeId(),
-                movement.getInventoryId(),
-                movement.getFromUserId(),
-                movement.getToUserId(),
-                movement.getStatus(),
-                movement.getCreatedAt()
-        );
+    private ExchangeResponse toResponse(ExchangeRequest request) {
+        return ExchangeResponse.from(request);
     }
 }
@@ -0,0 +1,164 @@
+package com.example.bookexchange.api;
+
+import com.example.bookexchange.api.dto.ExchangeResponse;
+import com.example.bookexchange.controllers.port.ExchangeEventPublisher;
+import com.example.bookexchange.models.ExchangeRequest;
+import com.example.bookexchange.shared.config.ExchangeStreamProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+public class ExchangeEventHub implements ExchangeEventPublisher, AutoCloseable {
+    static final String EXCHANGE_EVENT = "exchange";
+
+    private final ExchangeStreamProperties properties;
+    private final Map<UUID, List<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+    // Sends happen off the request thread so a slow client cannot stall the exchange API.
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService heartbeat;
+    private final Counter dropped;
+
+    public ExchangeEventHub(ExchangeStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sender = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getSendQueueCapacity()),
+                new CustomizableThreadFactory("exchange-stream-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("exchange-stream-heartbeat-"));
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+        this.dropped = Counter.builder("exchanges.stream.dropped")
+                .description("Exchange events not pushed because the send queue was full")
+                .register(meterRegistry);
+        Gauge.builder("exchanges.stream.subscribers", subscribers, s -> s.values().stream().mapToInt(List::size).sum())
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(UUID userId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        register(userId, emitter);
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException ex) {
+            unregister(userId, emitter);
+        }
+        return emitter;
+    }
+
+    @Override
+    public void publish(ExchangeRequest exchange) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(exchange);
+                }
+            });
+        } else {
+            dispatch(exchange);
+        }
+    }
+
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        sender.shutdownNow();
+        subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+        subscribers.clear();
+    }
+
+    void register(UUID userId, SseEmitter emitter) {
+        // The add has to happen inside compute: unregister drops the list once it is empty, and an
+        // emitter added to a list fetched outside the lock could land in one that was just removed.
+        List<SseEmitter> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, emitters) -> {
+            List<SseEmitter> list = emitters == null ? new CopyOnWriteArrayList<>() : emitters;
+            list.add(emitter);
+            while (list.size() > properties.getMaxConnectionsPerUser()) {
+                evicted.add(list.remove(0));
+            }
+            return list;
+        });
+        evicted.forEach(SseEmitter::complete);
+        emitter.onCompletion(() -> unregister(userId, emitter));
+        emitter.onTimeout(() -> unregister(userId, emitter));
+        emitter.onError(ex -> unregister(userId, emitter));
+    }
+
+    int subscriberCount(UUID userId) {
+        List<SseEmitter> emitters = subscribers.get(userId);
+        return emitters == null ? 0 : emitters.size();
+    }
+
+    private void dispatch(ExchangeRequest exchange) {
+        List<SseEmitter> emitters = subscribers.get(exchange.getOwnerId());
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+        ExchangeResponse payload = ExchangeResponse.from(exchange);
+        try {
+            sender.execute(() -> send(exchange.getOwnerId(), payload));
+        } catch (RejectedExecutionException ex) {
+            dropped.increment();
+        }
+    }
+
+    private void send(UUID userId, ExchangeResponse payload) {
+        List<SseEmitter> emitters = subscribers.get(userId);
+        if (emitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(payload.id() + ":" + payload.updatedAt().toEpochMilli())
+                        .name(EXCHANGE_EVENT)
+                        .data(payload, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException ex) {
+                unregister(userId, emitter);
+            }
+        }
+    }
+
+    private void sendHeartbeats() {
+        subscribers.forEach((userId, emitters) -> {
+            for (SseEmitter emitter : emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException ex) {
+                    unregister(userId, emitter);
+                }
+            }
+        });
+    }
+
+    private void unregister(UUID userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
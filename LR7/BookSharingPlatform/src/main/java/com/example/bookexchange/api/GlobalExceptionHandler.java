@@ -26,6 +26,8 @@ public class GlobalExceptionHandler {
             status = HttpStatus.CONFLICT;
         } else if ("UnauthorizedException".equals(name)) {
             status = HttpStatus.UNAUTHORIZED;
+        } else if ("TooManyRequestsException".equals(name)) {
+            status = HttpStatus.TOO_MANY_REQUESTS;
         }
         return ResponseEntity.status(status).body(ApiResponse.error(ex.getMessage()));
     }
@@ -2,9 +2,12 @@ package com.example.bookexchange.api;
 
 import com.example.bookexchange.api.dto.InventoryCreateRequest;
 import com.example.bookexchange.api.dto.InventoryResponse;
+import com.example.bookexchange.api.dto.PageResponse;
 import com.example.bookexchange.controllers.InventoryUseCase;
+import com.example.bookexchange.models.CursorPage;
 import com.example.bookexchange.models.InventoryItem;
 import com.example.bookexchange.models.InventoryStatus;
+import com.example.bookexchange.models.PageQuery;
 import com.example.bookexchange.shared.api.ApiResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -22,7 +25,6 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -43,10 +45,12 @@ public class InventoryApiController {
 
     @GetMapping("/me")
     @Operation(summary = "Get current user inventory")
-    public ResponseEntity<ApiResponse<List<InventoryResponse>>> myInventory(Authentication authentication) {
+    public ResponseEntity<ApiResponse<PageResponse<InventoryResponse>>> myInventory(Authentication authentication,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(required = false) Integer limit) {
         UUID userId = (UUID) authentication.getPrincipal();
-        List<InventoryResponse> response = inventoryUseCase.getUserInventory(userId).stream().map(this::toResponse).toList();
-        return ResponseEntity.ok(ApiResponse.ok(response));
+        CursorPage<InventoryResponse> page = inventoryUseCase.getUserInventory(userId, PageQuery.of(cursor, limit));
+        return ResponseEntity.ok(ApiResponse.ok(PageResponse.of(page)));
     }
 
     @PatchMapping("/{inventoryId}/status")
@@ -1,6 +1,8 @@
 package com.example.bookexchange.api;
 
+import com.example.bookexchange.api.dto.ReviewBatchRequest;
 import com.example.bookexchange.api.dto.ReviewCreateRequest;
+import com.example.bookexchange.api.dto.ReviewGroupResponse;
 import com.example.bookexchange.api.dto.ReviewResponse;
 import com.example.bookexchange.controllers.ReviewUseCase;
 import com.example.bookexchange.models.Review;
@@ -52,6 +54,16 @@ public class ReviewApiController {
         return ResponseEntity.ok(ApiResponse.ok(response));
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Get reviews for many targets at once, optionally only the newest N per target")
+    public ResponseEntity<ApiResponse<List<ReviewGroupResponse>>> byTargets(@Valid @RequestBody ReviewBatchRequest request) {
+        List<ReviewGroupResponse> response = reviewUseCase.getByTargets(request.targetType(), request.targetIds(), request.limitPerTarget())
+                .entrySet().stream()
+                .map(group -> new ReviewGroupResponse(group.getKey(), group.getValue().stream().map(this::toResponse).toList()))
+                .toList();
+        return ResponseEntity.ok(ApiResponse.ok(response));
+    }
+
     private ReviewResponse toResponse(Review review) {
         return new ReviewResponse(
                 review.getId(),
@@ -0,0 +1,58 @@
+package com.example.bookexchange.api;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+// Writes the same ApiResponse<PageResponse<T>> envelope as the paged endpoints, with every row
+// in items and no nextCursor, while the rows are still being read: only the generator's buffer
+// is held in memory. The status is sent before the first row, so a failure part-way leaves the
+// body unterminated instead of closing it into valid JSON that looks like a complete export.
+final class StreamingPageResponse {
+
+    private StreamingPageResponse() {
+    }
+
+    static <T> ResponseEntity<StreamingResponseBody> ok(ObjectMapper objectMapper, Consumer<Consumer<T>> rows) {
+        // The default flush after every value would push each row to the client as its own chunk.
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        Instant timestamp = Instant.now();
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartObject();
+                generator.writeBooleanField("success", true);
+                generator.writeStringField("message", "OK");
+                generator.writeObjectFieldStart("data");
+                generator.writeArrayFieldStart("items");
+                rows.accept(row -> write(writer, generator, row));
+                generator.writeEndArray();
+                generator.writeNullField("nextCursor");
+                generator.writeEndObject();
+                generator.writeFieldName("timestamp");
+                writer.writeValue(generator, timestamp);
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static void write(ObjectWriter writer, JsonGenerator generator, Object row) {
+        try {
+            writer.writeValue(generator, row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
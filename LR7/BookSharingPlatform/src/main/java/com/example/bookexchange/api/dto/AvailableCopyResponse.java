@@ -0,0 +1,13 @@
+package com.example.bookexchange.api.dto;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record AvailableCopyResponse(
+        UUID inventoryId,
+        UUID ownerId,
+        String ownerUsername,
+        BigDecimal ownerRating,
+        String condition
+) {
+}
@@ -0,0 +1,15 @@
+package com.example.bookexchange.api.dto;
+
+import java.util.List;
+
+public record BookImportResponse(
+        long received,
+        long inserted,
+        long duplicates,
+        long rejected,
+        List<Failure> failures,
+        boolean failuresTruncated
+) {
+    public record Failure(long line, String isbn, String outcome, String message) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.bookexchange.api.dto;
+
+import java.util.UUID;
+
+public record BookSuggestionResponse(String text, String field, UUID bookId) {
+}
@@ -1,5 +1,6 @@
 package com.example.bookexchange.api.dto;
 
+import com.example.bookexchange.models.ExchangeRequest;
 import com.example.bookexchange.models.ExchangeStatus;
 
 import java.time.Instant;
@@ -14,4 +15,15 @@ public record ExchangeResponse(
         Instant createdAt,
         Instant updatedAt
 ) {
+    public static ExchangeResponse from(ExchangeRequest request) {
+        return new ExchangeResponse(
+                request.getId(),
+                request.getRequesterId(),
+                request.getOwnerId(),
+                request.getInventoryId(),
+                request.getStatus(),
+                request.getCreatedAt(),
+                request.getUpdatedAt()
+        );
+    }
 }
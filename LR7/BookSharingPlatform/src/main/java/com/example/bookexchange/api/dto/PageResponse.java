@@ -0,0 +1,11 @@
+package com.example.bookexchange.api.dto;
+
+import com.example.bookexchange.models.CursorPage;
+
+import java.util.List;
+
+public record PageResponse<T>(List<T> items, String nextCursor) {
+    public static <T> PageResponse<T> of(CursorPage<T> page) {
+        return new PageResponse<>(page.getItems(), page.getNextCursor());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bookexchange.api.dto;
+
+import com.example.bookexchange.models.Review;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ReviewBatchRequest(
+        @NotNull Review.TargetType targetType,
+        @NotEmpty @Size(max = 500) List<@NotNull UUID> targetIds,
+        @Min(1) @Max(100) Integer limitPerTarget
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.bookexchange.api.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ReviewGroupResponse(UUID targetId, List<ReviewResponse> reviews) {
+}
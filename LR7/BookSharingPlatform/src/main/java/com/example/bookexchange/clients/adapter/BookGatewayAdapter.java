@@ -2,38 +2,143 @@ package com.example.bookexchange.clients.adapter;
 
 import com.example.bookexchange.clients.entity.BookEntity;
 import com.example.bookexchange.clients.spring.BookJpaRepository;
+import com.example.bookexchange.clients.spring.BookSearchRepository;
 import com.example.bookexchange.controllers.port.BookGateway;
 import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.CursorPage;
+import com.example.bookexchange.models.PageQuery;
+import com.example.bookexchange.models.RatingDelta;
+import com.example.bookexchange.shared.config.CatalogProperties;
+import com.example.bookexchange.shared.exception.ConflictException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 public class BookGatewayAdapter implements BookGateway {
+    private static final String INSERT_SQL =
+            "INSERT INTO books (id, title, author, isbn, rating) VALUES (?, ?, ?, ?, ?)";
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
     private final BookJpaRepository repository;
+    private final CatalogProperties catalogProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public Book save(Book book) {
         return toDomain(repository.save(toEntity(book)));
     }
 
+    @Override
+    public Book insert(Book book) {
+        BookEntity entity = toEntity(book);
+        entity.markNew();
+        return toDomain(repository.save(entity));
+    }
+
+    @Override
+    public List<Book> insertAll(List<Book> books) {
+        List<Book> remaining = books;
+        for (int attempt = 1; ; attempt++) {
+            List<Book> batch = remaining;
+            try {
+                transactionTemplate.executeWithoutResult(status -> batchInsert(batch));
+                return batch;
+            } catch (DuplicateKeyException ex) {
+                // Another writer claimed some of these ISBNs after the caller's lookup; drop those rows and retry.
+                // If nothing was dropped the conflict is not an ISBN race, and retrying would only repeat it.
+                Set<String> taken = findExistingIsbns(batch.stream().map(Book::getIsbn).filter(i -> i != null).toList());
+                remaining = batch.stream().filter(b -> b.getIsbn() == null || !taken.contains(b.getIsbn())).toList();
+                if (remaining.size() == batch.size() || attempt == MAX_INSERT_ATTEMPTS) {
+                    throw new ConflictException("Books conflict with concurrently added ones, try again");
+                }
+            }
+        }
+    }
+
     @Override
     public Optional<Book> findById(UUID id) {
         return repository.findById(id).map(this::toDomain);
     }
 
+    @Override
+    @Transactional
+    public void addRatings(List<RatingDelta> deltas) {
+        deltas.forEach(delta -> repository.addRatings(delta.getTargetId(), delta.getRatingSum(), delta.getRatingCount()));
+    }
+
     @Override
     public Optional<Book> findByIsbn(String isbn) {
         return repository.findByIsbn(isbn).map(this::toDomain);
     }
 
     @Override
-    public List<Book> search(String title, String author, String isbn) {
-        return repository.search(title, author, isbn).stream().map(this::toDomain).toList();
+    public Set<String> findExistingIsbns(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(repository.findExistingIsbns(isbns));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<Book> search(String title, String author, String isbn, PageQuery page) {
+        if (catalogProperties.getSearch().isTrigramEnabled()) {
+            BookSearchRepository.After after = null;
+            if (page.getCursor() != null) {
+                KeysetCursor.Keys keys = KeysetCursor.decode(page.getCursor(), 3);
+                after = new BookSearchRepository.After(keys.number(0), keys.text(1), keys.uuid(2));
+            }
+            List<BookSearchRepository.RankedBook> rows =
+                    repository.searchRanked(title, author, isbn, after, page.getLimit() + 1);
+            return KeysetCursor.page(rows, page.getLimit(), row -> toDomain(row.book()),
+                    row -> KeysetCursor.encode(row.score(), row.book().getTitle(), row.book().getId()));
+        }
+        String afterTitle = null;
+        UUID afterId = null;
+        if (page.getCursor() != null) {
+            KeysetCursor.Keys keys = KeysetCursor.decode(page.getCursor(), 2);
+            afterTitle = keys.text(0);
+            afterId = keys.uuid(1);
+        }
+        List<BookEntity> rows = repository.search(title, author, isbn, afterTitle, afterId, Limit.of(page.getLimit() + 1));
+        return KeysetCursor.page(rows, page.getLimit(), this::toDomain,
+                entity -> KeysetCursor.encode(entity.getTitle(), entity.getId()));
+    }
+
+    // Exports are ordered by title: ranking by similarity would need the whole result sorted
+    // before the first row could be written.
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachMatching(String title, String author, String isbn, Consumer<? super Book> sink) {
+        try (Stream<Book> rows = repository.streamSearch(title, author, isbn)) {
+            rows.forEach(sink);
+        }
+    }
+
+    private void batchInsert(List<Book> books) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, books, books.size(), (ps, book) -> {
+            ps.setObject(1, book.getId());
+            ps.setString(2, book.getTitle());
+            ps.setString(3, book.getAuthor());
+            ps.setString(4, book.getIsbn());
+            ps.setBigDecimal(5, book.getRating());
+        });
     }
 
     private BookEntity toEntity(Book book) {
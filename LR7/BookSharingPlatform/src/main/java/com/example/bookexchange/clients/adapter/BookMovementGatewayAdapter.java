@@ -1,19 +1,57 @@
 package com.example.bookexchange.clients.adapter;
 
+import com.example.bookexchange.api.dto.BookMovementResponse;
 import com.example.bookexchange.clients.entity.BookMovementEntity;
 import com.example.bookexchange.clients.spring.BookMovementJpaRepository;
 import com.example.bookexchange.controllers.port.BookMovementGateway;
 import com.example.bookexchange.models.BookMovement;
+import com.example.bookexchange.models.CursorPage;
+import com.example.bookexchange.models.PageQuery;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 public class BookMovementGatewayAdapter implements BookMovementGateway {
+    private static final String INSERT_SQL = "INSERT INTO book_movements " +
+            "(id, exchange_id, inventory_id, from_user_id, to_user_id, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    // UUIDs compare as unsigned bytes in the database, unlike UUID.compareTo.
+    private static final Comparator<BookMovementResponse> NEWEST_FIRST = Comparator
+            .comparing(BookMovementResponse::createdAt)
+            .thenComparing(BookMovementResponse::id, (a, b) -> {
+                int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+                return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            })
+            .reversed();
+
+    // How far back each history step reaches, in months before the cursor's month; a final step
+    // without a lower bound still finds rows older than the retention window.
+    private static final int[] HISTORY_MONTHS_BACK = {0, 2, 11};
+    private static final UUID LOWEST_ID = new UUID(0, 0);
+
     private final BookMovementJpaRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public BookMovement save(BookMovement movement) {
@@ -21,8 +59,126 @@ public class BookMovementGatewayAdapter implements BookMovementGateway {
     }
 
     @Override
-    public List<BookMovement> findByUserId(UUID userId) {
-        return repository.findByUserId(userId).stream().map(this::toDomain).toList();
+    public BookMovement insert(BookMovement movement) {
+        BookMovementEntity entity = toEntity(movement);
+        entity.markNew();
+        return toDomain(repository.save(entity));
+    }
+
+    @Override
+    public void insertAll(List<BookMovement> movements) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, movements, movements.size(), (ps, movement) -> {
+                    ps.setObject(1, movement.getId());
+                    ps.setObject(2, movement.getExchangeId());
+                    ps.setObject(3, movement.getInventoryId());
+                    ps.setObject(4, movement.getFromUserId());
+                    ps.setObject(5, movement.getToUserId());
+                    ps.setString(6, movement.getStatus().name());
+                    ps.setObject(7, movement.getCreatedAt().atOffset(ZoneOffset.UTC));
+                }));
+    }
+
+    @Override
+    public Set<UUID> findExistingIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(repository.findExistingIds(ids));
+    }
+
+    // Each side is read from its own (user, created_at, id) index and the two sorted runs are
+    // merged here; an OR over both columns cannot be served by either index in sorted order.
+    // The search starts in the month of the cursor and only widens to older months while the
+    // page is short, so a recent page touches one or two monthly partitions instead of all.
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookMovementResponse> findByUserId(UUID userId, PageQuery page) {
+        int wanted = page.getLimit() + 1;
+        Instant before = null;
+        UUID beforeId = null;
+        if (page.getCursor() != null) {
+            KeysetCursor.Keys keys = KeysetCursor.decode(page.getCursor(), 2);
+            before = keys.instant(0);
+            beforeId = keys.uuid(1);
+        }
+        YearMonth newest = YearMonth.from((before == null ? Instant.now() : before).atOffset(ZoneOffset.UTC));
+        List<BookMovementResponse> rows = new ArrayList<>(wanted);
+        for (int step = 0; step <= HISTORY_MONTHS_BACK.length && rows.size() < wanted; step++) {
+            Instant since = step < HISTORY_MONTHS_BACK.length
+                    ? newest.minusMonths(HISTORY_MONTHS_BACK[step]).atDay(1).atStartOfDay(ZoneOffset.UTC).toInstant()
+                    : Instant.EPOCH;
+            rows.addAll(findSlice(userId, since, before, beforeId, wanted - rows.size()));
+            before = since;
+            beforeId = LOWEST_ID;
+        }
+        return KeysetCursor.page(rows, page.getLimit(), Function.identity(),
+                row -> KeysetCursor.encode(row.createdAt(), row.id()));
+    }
+
+    // The full history, merged from the same two index scans as the pages; both cursors stay
+    // open until the last row is handed to the sink, so only one fetch batch of each is in memory.
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachByUserId(UUID userId, Consumer<? super BookMovementResponse> sink) {
+        try (Stream<BookMovementResponse> sent = repository.streamFromUser(userId);
+             Stream<BookMovementResponse> received = repository.streamToUser(userId)) {
+            mergeNewestFirst(sent.iterator(), received.iterator(), sink);
+        }
+    }
+
+    private List<BookMovementResponse> findSlice(UUID userId, Instant since, Instant before, UUID beforeId, int wanted) {
+        Limit limit = Limit.of(wanted);
+        List<BookMovementResponse> sent;
+        List<BookMovementResponse> received;
+        if (before == null) {
+            sent = repository.findPageFromUserSince(userId, since, limit);
+            received = repository.findPageToUserSince(userId, since, limit);
+        } else {
+            sent = repository.findPageFromUserBetween(userId, since, before, beforeId, limit);
+            received = repository.findPageToUserBetween(userId, since, before, beforeId, limit);
+        }
+        return mergeNewestFirst(sent, received, wanted);
+    }
+
+    static List<BookMovementResponse> mergeNewestFirst(List<BookMovementResponse> left, List<BookMovementResponse> right, int limit) {
+        List<BookMovementResponse> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < left.size() || j < right.size())) {
+            BookMovementResponse next;
+            if (j >= right.size()) {
+                next = left.get(i++);
+            } else if (i >= left.size()) {
+                next = right.get(j++);
+            } else {
+                int order = NEWEST_FIRST.compare(left.get(i), right.get(j));
+                next = order <= 0 ? left.get(i++) : right.get(j++);
+                if (order == 0) {
+                    j++;
+                }
+            }
+            merged.add(next);
+        }
+        return merged;
+    }
+
+    static void mergeNewestFirst(Iterator<BookMovementResponse> left, Iterator<BookMovementResponse> right,
+                                 Consumer<? super BookMovementResponse> sink) {
+        BookMovementResponse nextLeft = left.hasNext() ? left.next() : null;
+        BookMovementResponse nextRight = right.hasNext() ? right.next() : null;
+        while (nextLeft != null || nextRight != null) {
+            int order = nextRight == null ? -1 : nextLeft == null ? 1 : NEWEST_FIRST.compare(nextLeft, nextRight);
+            if (order <= 0) {
+                sink.accept(nextLeft);
+                nextLeft = left.hasNext() ? left.next() : null;
+            } else {
+                sink.accept(nextRight);
+            }
+            if (order >= 0) {
+                nextRight = right.hasNext() ? right.next() : null;
+            }
+        }
     }
 
     private BookMovementEntity toEntity(BookMovement movement) {
@@ -0,0 +1,346 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.controllers.port.BookMovementGateway;
+import com.example.bookexchange.controllers.port.BookMovementRecorder;
+import com.example.bookexchange.models.BookMovement;
+import com.example.bookexchange.shared.config.MovementWriterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Slf4j
+@Component
+public class BufferedBookMovementRecorder implements BookMovementRecorder, SmartLifecycle {
+    private final BookMovementGateway gateway;
+    private final MovementWriterProperties properties;
+    private final MovementJournal journal;
+    private final TransactionTemplate directInsert;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private List<Pending> buffer = new ArrayList<>();
+    private int unflushed;
+    private long oldestUnflushedNanos;
+    private volatile boolean running;
+    private Thread flusher;
+
+    // Touched only by the flusher thread (or by stop() once the flusher has exited).
+    private final List<Segment> failedSegments = new ArrayList<>();
+
+    private final Timer flushTime;
+    private final Timer flushLag;
+    private final Counter flushed;
+    private final Counter failures;
+    private final Counter overflows;
+
+    public BufferedBookMovementRecorder(BookMovementGateway gateway,
+                                        MovementWriterProperties properties,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry) {
+        this.gateway = gateway;
+        this.properties = properties;
+        this.journal = new MovementJournal(journalDirectory(properties), properties.isSyncWrites());
+        // The direct insert runs from afterCommit, where the exchange's finished transaction is
+        // still bound; joining it would leave the row uncommitted.
+        this.directInsert = new TransactionTemplate(transactionManager);
+        this.directInsert.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushTime = Timer.builder("movements.writer.flush")
+                .description("Time to write one batch of movements to the database")
+                .register(meterRegistry);
+        this.flushLag = Timer.builder("movements.writer.flush.lag")
+                .description("Age of the oldest movement in a batch when the batch was committed")
+                .register(meterRegistry);
+        this.flushed = Counter.builder("movements.writer.flushed")
+                .description("Movements written to the database")
+                .register(meterRegistry);
+        this.failures = Counter.builder("movements.writer.failures")
+                .description("Batches that failed to write and were kept for retry")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("movements.writer.overflow")
+                .description("Movements inserted directly because the buffer stayed full for append-timeout")
+                .register(meterRegistry);
+        Gauge.builder("movements.writer.pending", this, BufferedBookMovementRecorder::unflushedCount)
+                .description("Movements accepted but not yet committed to the database")
+                .register(meterRegistry);
+        Gauge.builder("movements.writer.lag", this, BufferedBookMovementRecorder::currentLagSeconds)
+                .description("Seconds the oldest uncommitted movement has been waiting")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void record(BookMovement movement) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(movement);
+                }
+            });
+        } else {
+            append(movement);
+        }
+    }
+
+    @Override
+    public void start() {
+        replayJournal();
+        journal.open();
+        running = true;
+        flusher = new Thread(this::flushLoop, "movement-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void stop() {
+        if (flusher == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            running = false;
+            flushRequested.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flushOnce();
+        journal.close();
+        if (unflushedCount() > 0) {
+            log.warn("{} movements could not be written on shutdown and stay in the journal for replay", unflushedCount());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server has drained in-flight requests, which runs in a later phase.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void append(BookMovement movement) {
+        FileChannel segment = null;
+        boolean overflow = false;
+        lock.lock();
+        try {
+            if (running) {
+                overflow = !awaitCapacity();
+            }
+            if (running && !overflow) {
+                segment = journal.append(movement);
+                long now = System.nanoTime();
+                if (unflushed == 0) {
+                    oldestUnflushedNanos = now;
+                }
+                buffer.add(new Pending(movement, now));
+                unflushed++;
+                if (buffer.size() >= properties.getBatchSize()) {
+                    flushRequested.signal();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (segment != null) {
+            // Concurrent appenders sync in parallel instead of queueing behind each other's fsync.
+            journal.sync(segment);
+            return;
+        }
+        if (overflow) {
+            overflows.increment();
+        }
+        directInsert.executeWithoutResult(status -> gateway.insertAll(List.of(movement)));
+    }
+
+    // Called with the lock held. Gives up after append-timeout so a database outage that keeps
+    // the buffer full cannot park request threads forever.
+    private boolean awaitCapacity() {
+        long remaining = properties.getAppendTimeout().toNanos();
+        while (unflushed >= properties.getBufferCapacity() && running) {
+            if (remaining <= 0) {
+                return false;
+            }
+            flushRequested.signal();
+            try {
+                remaining = notFull.awaitNanos(remaining);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void flushLoop() {
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        while (running) {
+            lock.lock();
+            try {
+                if (running && buffer.size() < properties.getBatchSize()) {
+                    flushRequested.awaitNanos(intervalNanos);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                flushOnce();
+            } catch (RuntimeException ex) {
+                log.error("Movement writer flush failed", ex);
+            }
+        }
+    }
+
+    void flushOnce() {
+        Segment drained = null;
+        lock.lock();
+        try {
+            if (!buffer.isEmpty()) {
+                drained = new Segment(journal.rotate(), buffer);
+                buffer = new ArrayList<>();
+            }
+        } finally {
+            lock.unlock();
+        }
+        List<Segment> segments = new ArrayList<>(failedSegments);
+        failedSegments.clear();
+        if (drained != null) {
+            segments.add(drained);
+        }
+        if (segments.isEmpty()) {
+            return;
+        }
+        int written = 0;
+        for (Segment segment : segments) {
+            if (write(segment, segment != drained)) {
+                written += segment.entries().size();
+            } else {
+                failedSegments.add(segment);
+            }
+        }
+        lock.lock();
+        try {
+            unflushed -= written;
+            oldestUnflushedNanos = oldestPendingNanos();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean write(Segment segment, boolean retry) {
+        List<BookMovement> movements = segment.entries().stream().map(Pending::movement).toList();
+        try {
+            if (retry) {
+                // Batches committed before the earlier failure are already stored; inserting them
+                // again would fail on their keys every time.
+                Set<UUID> existing = gateway.findExistingIds(movements.stream().map(BookMovement::getId).toList());
+                movements = movements.stream().filter(m -> !existing.contains(m.getId())).toList();
+            }
+            for (int from = 0; from < movements.size(); from += properties.getBatchSize()) {
+                List<BookMovement> batch = movements.subList(from, Math.min(from + properties.getBatchSize(), movements.size()));
+                flushTime.record(() -> gateway.insertAll(batch));
+            }
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("Could not write {} movements, will retry: {}", movements.size(), ex.getMessage());
+            return false;
+        }
+        flushLag.record(System.nanoTime() - segment.entries().get(0).enqueuedNanos(), TimeUnit.NANOSECONDS);
+        flushed.increment(movements.size());
+        journal.delete(segment.path());
+        return true;
+    }
+
+    private long oldestPendingNanos() {
+        if (!failedSegments.isEmpty()) {
+            return failedSegments.get(0).entries().get(0).enqueuedNanos();
+        }
+        return buffer.isEmpty() ? System.nanoTime() : buffer.get(0).enqueuedNanos();
+    }
+
+    private void replayJournal() {
+        for (Path segment : journal.existingSegments()) {
+            List<BookMovement> movements = MovementJournal.read(segment);
+            if (!movements.isEmpty()) {
+                Set<UUID> existing = gateway.findExistingIds(movements.stream().map(BookMovement::getId).toList());
+                List<BookMovement> missing = movements.stream().filter(m -> !existing.contains(m.getId())).toList();
+                for (int from = 0; from < missing.size(); from += properties.getBatchSize()) {
+                    gateway.insertAll(missing.subList(from, Math.min(from + properties.getBatchSize(), missing.size())));
+                }
+                log.info("Replayed movement journal segment {}: {} movements, {} already stored",
+                        segment.getFileName(), movements.size(), movements.size() - missing.size());
+            }
+            journal.delete(segment);
+        }
+    }
+
+    private int unflushedCount() {
+        lock.lock();
+        try {
+            return unflushed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double currentLagSeconds() {
+        lock.lock();
+        try {
+            return unflushed == 0 ? 0 : (System.nanoTime() - oldestUnflushedNanos) / 1e9;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Path journalDirectory(MovementWriterProperties properties) {
+        if (properties.getJournalDir() != null && !properties.getJournalDir().isBlank()) {
+            return Path.of(properties.getJournalDir());
+        }
+        try {
+            return Files.createTempDirectory("movement-journal-");
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private record Pending(BookMovement movement, long enqueuedNanos) {
+    }
+
+    private record Segment(Path path, List<Pending> entries) {
+    }
+}
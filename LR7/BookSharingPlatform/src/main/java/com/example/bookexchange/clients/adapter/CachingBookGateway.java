@@ -0,0 +1,145 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.controllers.port.BookGateway;
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.CursorPage;
+import com.example.bookexchange.models.PageQuery;
+import com.example.bookexchange.models.RatingDelta;
+import com.example.bookexchange.shared.config.CatalogProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Primary
+@Repository
+public class CachingBookGateway implements BookGateway {
+    private final BookGatewayAdapter delegate;
+    private final Cache<UUID, Book> byId;
+    private final Cache<String, UUID> idByIsbn;
+
+    public CachingBookGateway(BookGatewayAdapter delegate, CatalogProperties catalogProperties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        CatalogProperties.Cache config = catalogProperties.getCache();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        this.idByIsbn = Caffeine.newBuilder()
+                .maximumSize(config.getMaximumSize())
+                .expireAfterWrite(config.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "catalog.books-by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByIsbn, "catalog.books-by-isbn");
+    }
+
+    @Override
+    public Book save(Book book) {
+        evict(book);
+        Book saved = delegate.save(book);
+        evictAfterCommit(saved);
+        return saved;
+    }
+
+    @Override
+    public Book insert(Book book) {
+        Book saved = delegate.insert(book);
+        evictAfterCommit(saved);
+        return saved;
+    }
+
+    @Override
+    public List<Book> insertAll(List<Book> books) {
+        return delegate.insertAll(books);
+    }
+
+    @Override
+    public Optional<Book> findById(UUID id) {
+        Book cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Book> book = delegate.findById(id);
+        book.ifPresent(this::cache);
+        return book;
+    }
+
+    @Override
+    public void addRatings(List<RatingDelta> deltas) {
+        delegate.addRatings(deltas);
+        deltas.forEach(delta -> evictAfterCommit(Book.builder().id(delta.getTargetId()).build()));
+    }
+
+    @Override
+    public Optional<Book> findByIsbn(String isbn) {
+        UUID id = idByIsbn.getIfPresent(isbn);
+        if (id != null) {
+            Book cached = byId.getIfPresent(id);
+            if (cached != null && isbn.equals(cached.getIsbn())) {
+                return Optional.of(cached);
+            }
+        }
+        Optional<Book> book = delegate.findByIsbn(isbn);
+        book.ifPresent(this::cache);
+        return book;
+    }
+
+    @Override
+    public Set<String> findExistingIsbns(Collection<String> isbns) {
+        return delegate.findExistingIsbns(isbns);
+    }
+
+    @Override
+    public CursorPage<Book> search(String title, String author, String isbn, PageQuery page) {
+        return delegate.search(title, author, isbn, page);
+    }
+
+    @Override
+    public void forEachMatching(String title, String author, String isbn, Consumer<? super Book> sink) {
+        delegate.forEachMatching(title, author, isbn, sink);
+    }
+
+    private void cache(Book book) {
+        byId.put(book.getId(), book);
+        if (book.getIsbn() != null) {
+            idByIsbn.put(book.getIsbn(), book.getId());
+        }
+    }
+
+    private void evict(Book book) {
+        Book previous = byId.asMap().remove(book.getId());
+        if (previous != null && previous.getIsbn() != null) {
+            idByIsbn.invalidate(previous.getIsbn());
+        }
+        if (book.getIsbn() != null) {
+            idByIsbn.invalidate(book.getIsbn());
+        }
+    }
+
+    // A concurrent reader may repopulate the entry from the pre-commit row while the
+    // writing transaction is still open, so evict once more after it commits.
+    private void evictAfterCommit(Book book) {
+        evict(book);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(book);
+                }
+            });
+        }
+    }
+}
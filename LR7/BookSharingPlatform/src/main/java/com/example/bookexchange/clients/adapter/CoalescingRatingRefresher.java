@@ -0,0 +1,282 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.controllers.port.BookGateway;
+import com.example.bookexchange.controllers.port.RatingRefreshQueue;
+import com.example.bookexchange.controllers.port.UserGateway;
+import com.example.bookexchange.models.RatingDelta;
+import com.example.bookexchange.models.Review;
+import com.example.bookexchange.shared.config.RatingPipelineProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class CoalescingRatingRefresher implements RatingRefreshQueue, SmartLifecycle {
+    private final UserGateway userGateway;
+    private final BookGateway bookGateway;
+    private final RatingPipelineProperties properties;
+    private final TransactionTemplate writeTransaction;
+
+    private final Map<Key, Dirty> pending = new ConcurrentHashMap<>();
+    // Reviews added but not yet folded into the stored aggregate, counted from before the review
+    // commits, so the consistency check never sees a review whose delta is still on its way.
+    private final Map<Key, Integer> unwritten = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedMarks = new AtomicLong();
+    private final AtomicLong writtenTargets = new AtomicLong();
+    private volatile boolean running;
+    private Thread worker;
+
+    private final Counter marked;
+    private final Counter written;
+    private final Counter failures;
+    private final Counter overdue;
+    private final Timer flushTime;
+
+    public CoalescingRatingRefresher(UserGateway userGateway,
+                                     BookGateway bookGateway,
+                                     RatingPipelineProperties properties,
+                                     PlatformTransactionManager transactionManager,
+                                     MeterRegistry meterRegistry) {
+        this.userGateway = userGateway;
+        this.bookGateway = bookGateway;
+        this.properties = properties;
+        // A direct write runs from afterCompletion, where the review's transaction is still bound
+        // but already finished, so every write gets a transaction of its own.
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.marked = Counter.builder("ratings.pipeline.marked")
+                .description("Reviews that marked a rating target dirty")
+                .register(meterRegistry);
+        this.written = Counter.builder("ratings.pipeline.written")
+                .description("Rating targets updated by the pipeline")
+                .register(meterRegistry);
+        this.failures = Counter.builder("ratings.pipeline.failures")
+                .description("Refresh batches that failed and were re-queued")
+                .register(meterRegistry);
+        this.overdue = Counter.builder("ratings.pipeline.overdue")
+                .description("Rating targets written later than ratings.pipeline.max-staleness")
+                .register(meterRegistry);
+        this.flushTime = Timer.builder("ratings.pipeline.flush")
+                .description("Time to apply one batch of rating deltas")
+                .register(meterRegistry);
+        Gauge.builder("ratings.pipeline.pending", pending, Map::size)
+                .description("Rating targets waiting to be updated")
+                .register(meterRegistry);
+        Gauge.builder("ratings.pipeline.coalescing.ratio", this, CoalescingRatingRefresher::coalescingRatio)
+                .description("Reviews folded into each rating write")
+                .register(meterRegistry);
+        Gauge.builder("ratings.pipeline.staleness", this, CoalescingRatingRefresher::stalenessSeconds)
+                .description("Seconds the oldest dirty rating target has been waiting")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void addRating(Review.TargetType targetType, UUID targetId, int rating) {
+        Key key = new Key(targetType, targetId);
+        unwritten.merge(key, 1, Integer::sum);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(key, rating);
+                    } else {
+                        written(key, 1);
+                    }
+                }
+            });
+        } else {
+            enqueue(key, rating);
+        }
+    }
+
+    @Override
+    public boolean isPending(Review.TargetType targetType, UUID targetId) {
+        return unwritten.containsKey(new Key(targetType, targetId));
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::flushLoop, "rating-refresher");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush(Long.MAX_VALUE);
+        if (!pending.isEmpty()) {
+            log.warn("{} rating targets were not refreshed on shutdown; the consistency check will repair them", pending.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void enqueue(Key key, int rating) {
+        marked.increment();
+        long now = System.nanoTime();
+        if (!running) {
+            Dirty dirty = new Dirty(now, now, 1, rating);
+            if (write(key.targetType(), List.of(dirty.toDelta(key)))) {
+                written(key, 1);
+            } else {
+                // Picked up by the flush loop once started, or reported by stop() as left over.
+                requeue(key, dirty);
+            }
+            return;
+        }
+        pending.merge(key, new Dirty(now, now, 1, rating),
+                (current, next) -> new Dirty(current.firstNanos(), now, current.marks() + 1, current.ratingSum() + rating));
+    }
+
+    private void flushLoop() {
+        long tickMillis = Math.max(10, Math.min(properties.getWindow().toMillis(), properties.getMaxStaleness().toMillis()) / 2);
+        while (running) {
+            try {
+                Thread.sleep(tickMillis);
+            } catch (InterruptedException ex) {
+                return;
+            }
+            try {
+                flush(System.nanoTime());
+            } catch (RuntimeException ex) {
+                log.error("Rating refresh failed", ex);
+            }
+        }
+    }
+
+    // A target is written once it has been quiet for a full window, or once it has waited
+    // max-staleness, so a steady stream of reviews on a hot book cannot postpone it forever.
+    void flush(long nowNanos) {
+        long windowNanos = properties.getWindow().toNanos();
+        long maxStalenessNanos = properties.getMaxStaleness().toNanos();
+        Map<Review.TargetType, List<RatingDelta>> ready = new EnumMap<>(Review.TargetType.class);
+        Map<Key, Dirty> taken = new ConcurrentHashMap<>();
+        for (Key key : pending.keySet()) {
+            pending.computeIfPresent(key, (k, dirty) -> {
+                boolean quiet = nowNanos - dirty.lastNanos() >= windowNanos;
+                boolean stale = nowNanos - dirty.firstNanos() >= maxStalenessNanos;
+                if (!quiet && !stale) {
+                    return dirty;
+                }
+                taken.put(k, dirty);
+                ready.computeIfAbsent(k.targetType(), type -> new ArrayList<>()).add(dirty.toDelta(k));
+                return null;
+            });
+        }
+        ready.forEach((targetType, deltas) -> {
+            for (int from = 0; from < deltas.size(); from += properties.getBatchSize()) {
+                List<RatingDelta> batch = deltas.subList(from, Math.min(from + properties.getBatchSize(), deltas.size()));
+                List<Key> keys = batch.stream().map(delta -> new Key(targetType, delta.getTargetId())).toList();
+                if (write(targetType, batch)) {
+                    keys.forEach(key -> completed(key, taken.get(key), maxStalenessNanos));
+                } else {
+                    keys.forEach(key -> requeue(key, taken.get(key)));
+                }
+            }
+        });
+    }
+
+    private boolean write(Review.TargetType targetType, List<RatingDelta> deltas) {
+        try {
+            flushTime.record(() -> writeTransaction.executeWithoutResult(status -> {
+                if (targetType == Review.TargetType.USER) {
+                    userGateway.addRatings(deltas);
+                } else {
+                    bookGateway.addRatings(deltas);
+                }
+            }));
+        } catch (RuntimeException ex) {
+            failures.increment();
+            log.warn("Could not refresh {} {} ratings, will retry: {}", deltas.size(), targetType, ex.getMessage());
+            return false;
+        }
+        written.increment(deltas.size());
+        return true;
+    }
+
+    private void written(Key key, int marks) {
+        unwritten.computeIfPresent(key, (k, count) -> count > marks ? count - marks : null);
+    }
+
+    private void completed(Key key, Dirty dirty, long maxStalenessNanos) {
+        written(key, dirty.marks());
+        coalescedMarks.addAndGet(dirty.marks());
+        writtenTargets.incrementAndGet();
+        if (System.nanoTime() - dirty.firstNanos() > maxStalenessNanos) {
+            overdue.increment();
+        }
+    }
+
+    private void requeue(Key key, Dirty dirty) {
+        pending.merge(key, dirty, (current, failed) ->
+                new Dirty(Math.min(current.firstNanos(), failed.firstNanos()), current.lastNanos(),
+                        current.marks() + failed.marks(), current.ratingSum() + failed.ratingSum()));
+    }
+
+    private double coalescingRatio() {
+        long targets = writtenTargets.get();
+        return targets == 0 ? 0 : (double) coalescedMarks.get() / targets;
+    }
+
+    private double stalenessSeconds() {
+        long now = System.nanoTime();
+        return pending.values().stream()
+                .mapToLong(dirty -> now - dirty.firstNanos())
+                .max()
+                .orElse(0) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private record Key(Review.TargetType targetType, UUID targetId) {
+    }
+
+    // marks is the number of reviews folded in, so it doubles as the rating_count delta.
+    private record Dirty(long firstNanos, long lastNanos, int marks, long ratingSum) {
+        RatingDelta toDelta(Key key) {
+            return RatingDelta.builder()
+                    .targetId(key.targetId())
+                    .ratingSum(ratingSum)
+                    .ratingCount(marks)
+                    .build();
+        }
+    }
+}
@@ -1,15 +1,23 @@
 package com.example.bookexchange.clients.adapter;
 
+import com.example.bookexchange.api.dto.ExchangeResponse;
 import com.example.bookexchange.clients.entity.ExchangeEntity;
 import com.example.bookexchange.clients.spring.ExchangeJpaRepository;
 import com.example.bookexchange.controllers.port.ExchangeGateway;
+import com.example.bookexchange.models.CursorPage;
 import com.example.bookexchange.models.ExchangeRequest;
+import com.example.bookexchange.models.ExchangeStatus;
+import com.example.bookexchange.models.PageQuery;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Repository
 @RequiredArgsConstructor
@@ -21,19 +29,50 @@ public class ExchangeGatewayAdapter implements ExchangeGateway {
         return toDomain(repository.save(toEntity(exchangeRequest)));
     }
 
+    @Override
+    public ExchangeRequest insert(ExchangeRequest exchangeRequest) {
+        ExchangeEntity entity = toEntity(exchangeRequest);
+        entity.markNew();
+        return toDomain(repository.save(entity));
+    }
+
     @Override
     public Optional<ExchangeRequest> findById(UUID id) {
         return repository.findById(id).map(this::toDomain);
     }
 
     @Override
-    public List<ExchangeRequest> findByRequesterId(UUID requesterId) {
-        return repository.findByRequesterId(requesterId).stream().map(this::toDomain).toList();
+    @Transactional
+    public boolean compareAndSetStatus(UUID id, ExchangeStatus expected, ExchangeStatus next, Instant updatedAt) {
+        return repository.updateStatusIfCurrent(id, expected, next, updatedAt) == 1;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ExchangeResponse> findByRequesterId(UUID requesterId, PageQuery page) {
+        Limit limit = Limit.of(page.getLimit() + 1);
+        List<ExchangeResponse> rows;
+        if (page.getCursor() == null) {
+            rows = repository.findPageByRequesterId(requesterId, limit);
+        } else {
+            KeysetCursor.Keys keys = KeysetCursor.decode(page.getCursor(), 2);
+            rows = repository.findPageByRequesterIdBefore(requesterId, keys.instant(0), keys.uuid(1), limit);
+        }
+        return toPage(rows, page);
     }
 
     @Override
-    public List<ExchangeRequest> findByOwnerId(UUID ownerId) {
-        return repository.findByOwnerId(ownerId).stream().map(this::toDomain).toList();
+    @Transactional(readOnly = true)
+    public CursorPage<ExchangeResponse> findByOwnerId(UUID ownerId, PageQuery page) {
+        Limit limit = Limit.of(page.getLimit() + 1);
+        List<ExchangeResponse> rows;
+        if (page.getCursor() == null) {
+            rows = repository.findPageByOwnerId(ownerId, limit);
+        } else {
+            KeysetCursor.Keys keys = KeysetCursor.decode(page.getCursor(), 2);
+            rows = repository.findPageByOwnerIdBefore(ownerId, keys.instant(0), keys.uuid(1), limit);
+        }
+        return toPage(rows, page);
     }
 
     @Override
@@ -41,6 +80,11 @@ public class ExchangeGatewayAdapter implements ExchangeGateway {
         return repository.findByInventoryId(inventoryId).stream().map(this::toDomain).toList();
     }
 
+    private CursorPage<ExchangeResponse> toPage(List<ExchangeResponse> rows, PageQuery page) {
+        return KeysetCursor.page(rows, page.getLimit(), Function.identity(),
+                row -> KeysetCursor.encode(row.createdAt(), row.id()));
+    }
+
     private ExchangeEntity toEntity(ExchangeRequest request) {
         ExchangeEntity entity = new ExchangeEntity();
         entity.setId(request.getId());
@@ -0,0 +1,110 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.clients.entity.BookEntity;
+import com.example.bookexchange.clients.spring.BookJpaRepository;
+import com.example.bookexchange.controllers.port.BookSuggestionIndex;
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.BookSuggestion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InMemoryBookSuggestionIndex implements BookSuggestionIndex {
+    private static final int LOAD_BATCH_SIZE = 5_000;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final char SEPARATOR = '\u0000';
+
+    private final BookJpaRepository repository;
+    // Sorted by normalized text, so a prefix lookup is one O(log n) seek followed by an in-order scan.
+    private final ConcurrentSkipListMap<String, BookSuggestion> entries = new ConcurrentSkipListMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.nanoTime();
+        String afterTitle = null;
+        UUID afterId = null;
+        List<BookEntity> batch;
+        do {
+            batch = repository.search(null, null, null, afterTitle, afterId, Limit.of(LOAD_BATCH_SIZE));
+            for (BookEntity entity : batch) {
+                add(entity.getId(), entity.getTitle(), entity.getAuthor());
+            }
+            if (!batch.isEmpty()) {
+                BookEntity last = batch.get(batch.size() - 1);
+                afterTitle = last.getTitle();
+                afterId = last.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        log.info("Book suggestion index loaded: {} entries in {} ms",
+                entries.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Override
+    public void add(Book book) {
+        add(book.getId(), book.getTitle(), book.getAuthor());
+    }
+
+    @Override
+    public List<BookSuggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ConcurrentNavigableMap<String, BookSuggestion> range =
+                entries.subMap(normalized, true, normalized + Character.MAX_VALUE, false);
+        List<BookSuggestion> result = new ArrayList<>(limit);
+        for (BookSuggestion suggestion : range.values()) {
+            result.add(suggestion);
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void add(UUID bookId, String title, String author) {
+        put(title, BookSuggestion.Field.TITLE, bookId);
+        put(author, BookSuggestion.Field.AUTHOR, bookId);
+    }
+
+    // One entry per distinct normalized text and field: the first book seen represents it.
+    private void put(String text, BookSuggestion.Field field, UUID bookId) {
+        if (text == null) {
+            return;
+        }
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        entries.putIfAbsent(normalized + SEPARATOR + field.name(), new BookSuggestion(text.trim(), field, bookId));
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return WHITESPACE.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
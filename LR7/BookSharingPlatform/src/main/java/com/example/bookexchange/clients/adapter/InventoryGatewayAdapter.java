@@ -1,16 +1,23 @@
 package com.example.bookexchange.clients.adapter;
 
+import com.example.bookexchange.api.dto.InventoryResponse;
 import com.example.bookexchange.clients.entity.InventoryEntity;
 import com.example.bookexchange.clients.spring.InventoryJpaRepository;
 import com.example.bookexchange.controllers.port.InventoryGateway;
+import com.example.bookexchange.models.AvailableCopy;
+import com.example.bookexchange.models.CursorPage;
 import com.example.bookexchange.models.InventoryItem;
 import com.example.bookexchange.models.InventoryStatus;
+import com.example.bookexchange.models.PageQuery;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Repository
 @RequiredArgsConstructor
@@ -22,14 +29,32 @@ public class InventoryGatewayAdapter implements InventoryGateway {
         return toDomain(repository.save(toEntity(item)));
     }
 
+    @Override
+    public InventoryItem insert(InventoryItem item) {
+        InventoryEntity entity = toEntity(item);
+        entity.markNew();
+        return toDomain(repository.save(entity));
+    }
+
     @Override
     public Optional<InventoryItem> findById(UUID id) {
         return repository.findById(id).map(this::toDomain);
     }
 
     @Override
-    public List<InventoryItem> findByUserId(UUID userId) {
-        return repository.findByUserId(userId).stream().map(this::toDomain).toList();
+    @Transactional
+    public boolean compareAndSetStatus(UUID id, InventoryStatus expected, InventoryStatus next) {
+        return repository.updateStatusIfCurrent(id, expected, next) == 1;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<InventoryResponse> findByUserId(UUID userId, PageQuery page) {
+        Limit limit = Limit.of(page.getLimit() + 1);
+        List<InventoryResponse> rows = page.getCursor() == null
+                ? repository.findPageByUserId(userId, limit)
+                : repository.findPageByUserIdAfter(userId, KeysetCursor.decode(page.getCursor(), 1).uuid(0), limit);
+        return KeysetCursor.page(rows, page.getLimit(), Function.identity(), row -> KeysetCursor.encode(row.id()));
     }
 
     @Override
@@ -42,6 +67,24 @@ public class InventoryGatewayAdapter implements InventoryGateway {
         return repository.findByStatus(status).stream().map(this::toDomain).toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<AvailableCopy> findAvailableByBookId(UUID bookId, UUID excludedOwnerId, int limit) {
+        List<InventoryJpaRepository.AvailableCopyRow> rows = excludedOwnerId == null
+                ? repository.findAvailableByBookId(bookId, Limit.of(limit))
+                : repository.findAvailableByBookIdExcludingOwner(bookId, excludedOwnerId, Limit.of(limit));
+        return rows.stream()
+                .map(row -> AvailableCopy.builder()
+                        .inventoryId(row.getInventoryId())
+                        .bookId(row.getBookId())
+                        .ownerId(row.getOwnerId())
+                        .ownerUsername(row.getOwnerUsername())
+                        .ownerRating(row.getOwnerRating())
+                        .condition(row.getConditionValue())
+                        .build())
+                .toList();
+    }
+
     private InventoryEntity toEntity(InventoryItem item) {
         InventoryEntity entity = new InventoryEntity();
         entity.setId(item.getId());
@@ -0,0 +1,81 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.models.CursorPage;
+import com.example.bookexchange.shared.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class KeysetCursor {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    static String encode(Object... keys) {
+        return Arrays.stream(keys)
+                .map(key -> ENCODER.encodeToString(String.valueOf(key).getBytes(StandardCharsets.UTF_8)))
+                .collect(Collectors.joining("."));
+    }
+
+    static Keys decode(String cursor, int size) {
+        String[] parts = cursor.split("\\.", -1);
+        if (parts.length != size) {
+            throw invalid();
+        }
+        try {
+            String[] values = new String[size];
+            for (int i = 0; i < size; i++) {
+                values[i] = new String(DECODER.decode(parts[i]), StandardCharsets.UTF_8);
+            }
+            return new Keys(values);
+        } catch (IllegalArgumentException ex) {
+            throw invalid();
+        }
+    }
+
+    static <E, T> CursorPage<T> page(List<E> rows, int limit, Function<E, T> mapper, Function<E, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows.stream().map(mapper).toList(), null);
+        }
+        List<E> visible = rows.subList(0, limit);
+        return new CursorPage<>(visible.stream().map(mapper).toList(), cursorOf.apply(visible.get(limit - 1)));
+    }
+
+    private static BusinessException invalid() {
+        return new BusinessException("Invalid page cursor");
+    }
+
+    record Keys(String[] values) {
+        String text(int index) {
+            return values[index];
+        }
+
+        UUID uuid(int index) {
+            return parse(index, UUID::fromString);
+        }
+
+        Instant instant(int index) {
+            return parse(index, Instant::parse);
+        }
+
+        double number(int index) {
+            return parse(index, Double::valueOf);
+        }
+
+        private <T> T parse(int index, Function<String, T> parser) {
+            try {
+                return parser.apply(values[index]);
+            } catch (RuntimeException ex) {
+                throw invalid();
+            }
+        }
+    }
+}
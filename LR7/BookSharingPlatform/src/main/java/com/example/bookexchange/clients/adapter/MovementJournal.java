@@ -0,0 +1,184 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.models.BookMovement;
+import com.example.bookexchange.models.ExchangeStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Slf4j
+final class MovementJournal implements AutoCloseable {
+    private static final String PREFIX = "movements-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final boolean syncWrites;
+    private long sequence;
+    private Path currentPath;
+    private FileChannel current;
+
+    MovementJournal(Path directory, boolean syncWrites) {
+        this.directory = directory;
+        this.syncWrites = syncWrites;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create movement journal directory " + directory, ex);
+        }
+    }
+
+    List<Path> existingSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(MovementJournal::isSegment).sorted().toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    void open() {
+        sequence = existingSegments().stream().mapToLong(MovementJournal::sequenceOf).max().orElse(0);
+        openNext();
+    }
+
+    // Returns the segment written to so the caller can sync it once it no longer holds its lock.
+    FileChannel append(BookMovement movement) {
+        ByteBuffer line = StandardCharsets.UTF_8.encode(format(movement));
+        try {
+            while (line.hasRemaining()) {
+                current.write(line);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot append to movement journal " + currentPath, ex);
+        }
+        return current;
+    }
+
+    void sync(FileChannel segment) {
+        if (!syncWrites) {
+            return;
+        }
+        try {
+            segment.force(false);
+        } catch (ClosedChannelException ex) {
+            // Rotated in the meantime: closing a segment forces it first.
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot sync movement journal " + currentPath, ex);
+        }
+    }
+
+    Path rotate() {
+        Path closed = currentPath;
+        closeCurrent();
+        openNext();
+        return closed;
+    }
+
+    void delete(Path segment) {
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException ex) {
+            log.warn("Cannot delete flushed movement journal segment {}", segment, ex);
+        }
+    }
+
+    static List<BookMovement> read(Path segment) {
+        List<BookMovement> movements = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    movements.add(parse(line));
+                } catch (RuntimeException ex) {
+                    // A torn final line from a crash mid-append: the request that wrote it never got a response.
+                    log.warn("Skipping unreadable movement journal entry in {}: {}", segment, line);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return movements;
+    }
+
+    @Override
+    public void close() {
+        Path last = currentPath;
+        closeCurrent();
+        try {
+            if (last != null && Files.size(last) == 0) {
+                Files.delete(last);
+            }
+        } catch (IOException ex) {
+            log.warn("Cannot remove empty movement journal segment {}", last, ex);
+        }
+    }
+
+    private void openNext() {
+        sequence++;
+        currentPath = directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+        try {
+            current = FileChannel.open(currentPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open movement journal segment " + currentPath, ex);
+        }
+    }
+
+    private void closeCurrent() {
+        if (current == null) {
+            return;
+        }
+        try {
+            current.force(false);
+            current.close();
+        } catch (IOException ex) {
+            log.warn("Cannot close movement journal segment {}", currentPath, ex);
+        }
+        current = null;
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static String format(BookMovement movement) {
+        return movement.getId() + "," + movement.getExchangeId() + "," + movement.getInventoryId() + ","
+                + movement.getFromUserId() + "," + movement.getToUserId() + ","
+                + movement.getStatus().name() + "," + movement.getCreatedAt() + "\n";
+    }
+
+    private static BookMovement parse(String line) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 7) {
+            throw new IllegalArgumentException("Expected 7 fields");
+        }
+        return BookMovement.builder()
+                .id(UUID.fromString(fields[0]))
+                .exchangeId(UUID.fromString(fields[1]))
+                .inventoryId(UUID.fromString(fields[2]))
+                .fromUserId(UUID.fromString(fields[3]))
+                .toUserId(UUID.fromString(fields[4]))
+                .status(ExchangeStatus.valueOf(fields[5]))
+                .createdAt(Instant.parse(fields[6]))
+                .build();
+    }
+}
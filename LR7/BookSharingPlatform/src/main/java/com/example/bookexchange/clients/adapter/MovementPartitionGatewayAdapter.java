@@ -0,0 +1,69 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.controllers.port.MovementPartitionGateway;
+import com.example.bookexchange.models.MovementPartition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.YearMonth;
+import java.util.List;
+
+// PostgreSQL only: the monthly partitions of book_movements are created by V10 and named
+// book_movements_pYYYY_MM, which is how they are found again here.
+@Repository
+@RequiredArgsConstructor
+public class MovementPartitionGatewayAdapter implements MovementPartitionGateway {
+    private static final String PARTITIONS_SQL = "SELECT c.relname, c.relispartition FROM pg_class c " +
+            "WHERE c.relkind = 'r' AND c.relnamespace = current_schema()::regnamespace " +
+            "AND c.relname ~ '^book_movements_p[0-9]{4}_[0-9]{2}$' ORDER BY c.relname";
+    private static final String CREATE_SQL = "CREATE TABLE IF NOT EXISTS %s PARTITION OF book_movements " +
+            "FOR VALUES FROM ('%s') TO ('%s')";
+    private static final String DETACH_SQL = "ALTER TABLE book_movements DETACH PARTITION %s";
+    private static final String COLUMNS = "id, exchange_id, inventory_id, from_user_id, to_user_id, status, created_at";
+    private static final String ARCHIVE_SQL = "WITH moved AS (DELETE FROM %1$s WHERE id IN " +
+            "(SELECT id FROM %1$s LIMIT ?) RETURNING " + COLUMNS + ") " +
+            "INSERT INTO book_movements_archive (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved";
+    private static final String DROP_SQL = "DROP TABLE IF EXISTS %s";
+    private static final String NAME_PREFIX = "book_movements_p";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<MovementPartition> findPartitions() {
+        return jdbcTemplate.query(PARTITIONS_SQL, (rs, rowNum) -> MovementPartition.builder()
+                .month(monthOf(rs.getString("relname")))
+                .attached(rs.getBoolean("relispartition"))
+                .build());
+    }
+
+    @Override
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute(CREATE_SQL.formatted(tableName(month), month.atDay(1), month.plusMonths(1).atDay(1)));
+    }
+
+    @Override
+    public void detachPartition(YearMonth month) {
+        jdbcTemplate.execute(DETACH_SQL.formatted(tableName(month)));
+    }
+
+    // One statement per batch, so a crash never leaves a row in both tables or in neither.
+    @Override
+    public int archiveBatch(YearMonth month, int batchSize) {
+        return jdbcTemplate.update(ARCHIVE_SQL.formatted(tableName(month)), batchSize);
+    }
+
+    @Override
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute(DROP_SQL.formatted(tableName(month)));
+    }
+
+    static String tableName(YearMonth month) {
+        return NAME_PREFIX + "%04d_%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    static YearMonth monthOf(String tableName) {
+        String suffix = tableName.substring(NAME_PREFIX.length());
+        return YearMonth.of(Integer.parseInt(suffix.substring(0, 4)), Integer.parseInt(suffix.substring(5)));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.controllers.port.RatingAggregateGateway;
+import com.example.bookexchange.models.RatingDrift;
+import com.example.bookexchange.models.Review;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class RatingAggregateGatewayAdapter implements RatingAggregateGateway {
+    private static final String DRIFT_SQL = "SELECT t.id, t.rating_sum, t.rating_count, " +
+            "COALESCE(r.total, 0) AS actual_sum, COALESCE(r.cnt, 0) AS actual_count " +
+            "FROM %s t LEFT JOIN (SELECT target_id, SUM(rating) AS total, COUNT(*) AS cnt " +
+            "FROM reviews WHERE target_type = ? GROUP BY target_id) r ON r.target_id = t.id " +
+            "WHERE t.rating_sum <> COALESCE(r.total, 0) OR t.rating_count <> COALESCE(r.cnt, 0) " +
+            "ORDER BY t.id LIMIT ?";
+    // Guarded by the stored values that were found to drift, so a review landing in between wins.
+    private static final String REPAIR_SQL = "UPDATE %s SET rating_sum = ?, rating_count = ?, " +
+            "rating = CASE WHEN ? = 0 THEN 0 ELSE ROUND(CAST(? AS NUMERIC(19, 4)) / ?, 2) END " +
+            "WHERE id = ? AND rating_sum = ? AND rating_count = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<RatingDrift> findDrift(Review.TargetType targetType, int limit) {
+        return jdbcTemplate.query(DRIFT_SQL.formatted(table(targetType)),
+                (rs, rowNum) -> RatingDrift.builder()
+                        .targetType(targetType)
+                        .targetId(rs.getObject("id", UUID.class))
+                        .storedSum(rs.getLong("rating_sum"))
+                        .storedCount(rs.getInt("rating_count"))
+                        .actualSum(rs.getLong("actual_sum"))
+                        .actualCount(rs.getInt("actual_count"))
+                        .build(),
+                targetType.name(), limit);
+    }
+
+    @Override
+    public boolean repair(RatingDrift drift) {
+        return jdbcTemplate.update(REPAIR_SQL.formatted(table(drift.getTargetType())),
+                drift.getActualSum(),
+                drift.getActualCount(),
+                drift.getActualCount(),
+                drift.getActualSum(),
+                drift.getActualCount(),
+                drift.getTargetId(),
+                drift.getStoredSum(),
+                drift.getStoredCount()) == 1;
+    }
+
+    private String table(Review.TargetType targetType) {
+        return targetType == Review.TargetType.USER ? "users" : "books";
+    }
+}
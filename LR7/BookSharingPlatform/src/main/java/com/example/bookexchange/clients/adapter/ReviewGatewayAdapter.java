@@ -6,7 +6,9 @@ import com.example.bookexchange.controllers.port.ReviewGateway;
 import com.example.bookexchange.models.Review;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +23,13 @@ public class ReviewGatewayAdapter implements ReviewGateway {
         return toDomain(repository.save(toEntity(review)));
     }
 
+    @Override
+    public Review insert(Review review) {
+        ReviewEntity entity = toEntity(review);
+        entity.markNew();
+        return toDomain(repository.save(entity));
+    }
+
     @Override
     public Optional<Review> findById(UUID id) {
         return repository.findById(id).map(this::toDomain);
@@ -32,10 +41,20 @@ public class ReviewGatewayAdapter implements ReviewGateway {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Review> findByTargetTypeAndTargetId(Review.TargetType targetType, UUID targetId) {
         return repository.findByTargetTypeAndTargetId(targetType, targetId).stream().map(this::toDomain).toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Review> findByTargets(Review.TargetType targetType, Collection<UUID> targetIds, Integer limitPerTarget) {
+        List<ReviewEntity> rows = limitPerTarget == null
+                ? repository.findByTargets(targetType, targetIds)
+                : repository.findTopByTargets(targetType.name(), targetIds, limitPerTarget);
+        return rows.stream().map(this::toDomain).toList();
+    }
+
     private ReviewEntity toEntity(Review review) {
         ReviewEntity entity = new ReviewEntity();
         entity.setId(review.getId());
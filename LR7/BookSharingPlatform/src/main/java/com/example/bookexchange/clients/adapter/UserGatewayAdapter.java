@@ -3,10 +3,17 @@ package com.example.bookexchange.clients.adapter;
 import com.example.bookexchange.clients.entity.UserEntity;
 import com.example.bookexchange.clients.spring.UserJpaRepository;
 import com.example.bookexchange.controllers.port.UserGateway;
+import com.example.bookexchange.models.RatingDelta;
 import com.example.bookexchange.models.User;
+import com.example.bookexchange.shared.exception.ConflictException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,6 +27,23 @@ public class UserGatewayAdapter implements UserGateway {
         return toDomain(repository.save(toEntity(user)));
     }
 
+    @Override
+    public User insert(User user) {
+        UserEntity entity = toEntity(user);
+        entity.markNew();
+        try {
+            return toDomain(repository.saveAndFlush(entity));
+        } catch (DataIntegrityViolationException ex) {
+            throw toConflict(ex);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void addRatings(List<RatingDelta> deltas) {
+        deltas.forEach(delta -> repository.addRatings(delta.getTargetId(), delta.getRatingSum(), delta.getRatingCount()));
+    }
+
     @Override
     public Optional<User> findById(UUID id) {
         return repository.findById(id).map(this::toDomain);
@@ -35,14 +59,19 @@ public class UserGatewayAdapter implements UserGateway {
         return repository.findByUsername(username).map(this::toDomain);
     }
 
-    @Override
-    public boolean existsByEmail(String email) {
-        return repository.existsByEmail(email);
-    }
-
-    @Override
-    public boolean existsByUsername(String username) {
-        return repository.existsByUsername(username);
+    private RuntimeException toConflict(DataIntegrityViolationException ex) {
+        String constraint = ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : String.valueOf(ex.getMostSpecificCause().getMessage());
+        constraint = constraint.toLowerCase(Locale.ROOT);
+        if (constraint.contains(UserEntity.EMAIL_CONSTRAINT)) {
+            return new ConflictException("Email is already registered");
+        }
+        if (constraint.contains(UserEntity.USERNAME_CONSTRAINT)) {
+            return new ConflictException("Username is already taken");
+        }
+        return ex;
     }
 
     private UserEntity toEntity(User user) {
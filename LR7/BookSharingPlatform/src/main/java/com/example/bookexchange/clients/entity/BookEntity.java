@@ -6,6 +6,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -14,7 +15,7 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "books")
-public class BookEntity {
+public class BookEntity extends AssignedIdEntity {
     @Id
     private UUID id;
 
@@ -27,6 +28,15 @@ public class BookEntity {
     @Column(unique = true, length = 32)
     private String isbn;
 
-    @Column(nullable = false, precision = 3, scale = 2)
+    // Rating columns are maintained only by the aggregate UPDATEs in the repository.
+    @Column(nullable = false, updatable = false, precision = 3, scale = 2)
     private BigDecimal rating;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long ratingSum;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private int ratingCount;
 }
@@ -17,7 +17,7 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "book_movements")
-public class BookMovementEntity {
+public class BookMovementEntity extends AssignedIdEntity {
     @Id
     private UUID id;
 
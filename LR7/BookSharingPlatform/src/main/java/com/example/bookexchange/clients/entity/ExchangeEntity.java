@@ -17,7 +17,7 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "exchanges")
-public class ExchangeEntity {
+public class ExchangeEntity extends AssignedIdEntity {
     @Id
     private UUID id;
 
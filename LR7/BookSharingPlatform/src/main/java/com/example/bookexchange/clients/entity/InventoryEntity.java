@@ -16,7 +16,7 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "inventory")
-public class InventoryEntity {
+public class InventoryEntity extends AssignedIdEntity {
     @Id
     private UUID id;
 
@@ -17,7 +17,7 @@ import java.util.UUID;
 @Setter
 @Entity
 @Table(name = "reviews")
-public class ReviewEntity {
+public class ReviewEntity extends AssignedIdEntity {
     @Id
     private UUID id;
 
@@ -4,8 +4,10 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -13,20 +15,35 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "users")
-public class UserEntity {
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = UserEntity.USERNAME_CONSTRAINT, columnNames = "username"),
+        @UniqueConstraint(name = UserEntity.EMAIL_CONSTRAINT, columnNames = "email")
+})
+public class UserEntity extends AssignedIdEntity {
+    public static final String USERNAME_CONSTRAINT = "users_username_key";
+    public static final String EMAIL_CONSTRAINT = "users_email_key";
+
     @Id
     private UUID id;
 
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String username;
 
-    @Column(nullable = false, unique = true, length = 255)
+    @Column(nullable = false, length = 255)
     private String email;
 
     @Column(nullable = false, length = 255)
     private String passwordHash;
 
-    @Column(nullable = false, precision = 3, scale = 2)
+    // Rating columns are maintained only by the aggregate UPDATEs in the repository.
+    @Column(nullable = false, updatable = false, precision = 3, scale = 2)
     private BigDecimal rating;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long ratingSum;
+
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private int ratingCount;
 }
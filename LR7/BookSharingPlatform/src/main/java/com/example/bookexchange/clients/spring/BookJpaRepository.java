@@ -1,22 +1,59 @@
 package com.example.bookexchange.clients.spring;
 
 import com.example.bookexchange.clients.entity.BookEntity;
+import com.example.bookexchange.models.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface BookJpaRepository extends JpaRepository<BookEntity, UUID> {
+public interface BookJpaRepository extends JpaRepository<BookEntity, UUID>, BookSearchRepository {
     Optional<BookEntity> findByIsbn(String isbn);
 
+    @Query("SELECT b.isbn FROM BookEntity b WHERE b.isbn IN :isbns")
+    List<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
+
+    // Folds a coalesced batch of reviews into the running aggregates of one target.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE BookEntity e SET e.ratingSum = e.ratingSum + :sum, e.ratingCount = e.ratingCount + :count, "
+            + "e.rating = round(cast(e.ratingSum + :sum as BigDecimal) / (e.ratingCount + :count), 2) "
+            + "WHERE e.id = :id")
+    int addRatings(@Param("id") UUID id, @Param("sum") long sum, @Param("count") int count);
+
     @Query("SELECT b FROM BookEntity b WHERE " +
             "(:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))) AND " +
             "(:author IS NULL OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))) AND " +
-            "(:isbn IS NULL OR b.isbn = :isbn)")
+            "(:isbn IS NULL OR b.isbn = :isbn) AND " +
+            "(:afterTitle IS NULL OR b.title > :afterTitle OR (b.title = :afterTitle AND b.id > :afterId)) " +
+            "ORDER BY b.title, b.id")
     List<BookEntity> search(@Param("title") String title,
                             @Param("author") String author,
-                            @Param("isbn") String isbn);
+                            @Param("isbn") String isbn,
+                            @Param("afterTitle") String afterTitle,
+                            @Param("afterId") UUID afterId,
+                            Limit limit);
+
+    // Same filters as search, read through a driver-side cursor straight into the response record.
+    String EXPORT_FETCH_SIZE = "500";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.bookexchange.models.Book(b.id, b.title, b.author, b.isbn, b.rating) " +
+            "FROM BookEntity b WHERE " +
+            "(:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))) AND " +
+            "(:author IS NULL OR LOWER(b.author) LIKE LOWER(CONCAT('%', :author, '%'))) AND " +
+            "(:isbn IS NULL OR b.isbn = :isbn) " +
+            "ORDER BY b.title, b.id")
+    Stream<Book> streamSearch(@Param("title") String title,
+                                      @Param("author") String author,
+                                      @Param("isbn") String isbn);
 }
@@ -1,14 +1,71 @@
 package com.example.bookexchange.clients.spring;
 
+import com.example.bookexchange.api.dto.BookMovementResponse;
 import com.example.bookexchange.clients.entity.BookMovementEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface BookMovementJpaRepository extends JpaRepository<BookMovementEntity, UUID> {
-    @Query("SELECT m FROM BookMovementEntity m WHERE m.fromUserId = :userId OR m.toUserId = :userId ORDER BY m.createdAt DESC")
-    List<BookMovementEntity> findByUserId(@Param("userId") UUID userId);
+    @Query("SELECT m.id FROM BookMovementEntity m WHERE m.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    // Pages are built straight into the response record: no managed entity, no domain copy.
+    String PAGE_SELECT = "SELECT new com.example.bookexchange.api.dto.BookMovementResponse(" +
+            "m.id, m.exchangeId, m.inventoryId, m.fromUserId, m.toUserId, m.status, m.createdAt) FROM BookMovementEntity m ";
+
+    // Repeating the equality column in ORDER BY lets the planner read the (user, created_at, id)
+    // index in order and stop at the limit instead of sorting all of a heavy user's rows. The
+    // created_at lower bound lets the planner skip every monthly partition older than it.
+    @Query(PAGE_SELECT + "WHERE m.fromUserId = :userId AND m.createdAt >= :since " +
+            "ORDER BY m.fromUserId, m.createdAt DESC, m.id DESC")
+    List<BookMovementResponse> findPageFromUserSince(@Param("userId") UUID userId,
+                                                   @Param("since") Instant since,
+                                                   Limit limit);
+
+    @Query(PAGE_SELECT + "WHERE m.fromUserId = :userId AND m.createdAt >= :since AND " +
+            "(m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.fromUserId, m.createdAt DESC, m.id DESC")
+    List<BookMovementResponse> findPageFromUserBetween(@Param("userId") UUID userId,
+                                                     @Param("since") Instant since,
+                                                     @Param("createdAt") Instant createdAt,
+                                                     @Param("id") UUID id,
+                                                     Limit limit);
+
+    @Query(PAGE_SELECT + "WHERE m.toUserId = :userId AND m.createdAt >= :since " +
+            "ORDER BY m.toUserId, m.createdAt DESC, m.id DESC")
+    List<BookMovementResponse> findPageToUserSince(@Param("userId") UUID userId,
+                                                 @Param("since") Instant since,
+                                                 Limit limit);
+
+    @Query(PAGE_SELECT + "WHERE m.toUserId = :userId AND m.createdAt >= :since AND " +
+            "(m.createdAt < :createdAt OR (m.createdAt = :createdAt AND m.id < :id)) " +
+            "ORDER BY m.toUserId, m.createdAt DESC, m.id DESC")
+    List<BookMovementResponse> findPageToUserBetween(@Param("userId") UUID userId,
+                                                   @Param("since") Instant since,
+                                                   @Param("createdAt") Instant createdAt,
+                                                   @Param("id") UUID id,
+                                                   Limit limit);
+
+    // Exports walk the same indexes without a limit. The fetch size makes the PostgreSQL driver
+    // read through a cursor instead of buffering the whole result before the first row.
+    String EXPORT_FETCH_SIZE = "500";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(PAGE_SELECT + "WHERE m.fromUserId = :userId ORDER BY m.fromUserId, m.createdAt DESC, m.id DESC")
+    Stream<BookMovementResponse> streamFromUser(@Param("userId") UUID userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(PAGE_SELECT + "WHERE m.toUserId = :userId ORDER BY m.toUserId, m.createdAt DESC, m.id DESC")
+    Stream<BookMovementResponse> streamToUser(@Param("userId") UUID userId);
 }
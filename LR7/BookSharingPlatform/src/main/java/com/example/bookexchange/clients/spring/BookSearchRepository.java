@@ -0,0 +1,16 @@
+package com.example.bookexchange.clients.spring;
+
+import com.example.bookexchange.clients.entity.BookEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface BookSearchRepository {
+    List<RankedBook> searchRanked(String title, String author, String isbn, After after, int limit);
+
+    record RankedBook(BookEntity book, double score) {
+    }
+
+    record After(double score, String title, UUID id) {
+    }
+}
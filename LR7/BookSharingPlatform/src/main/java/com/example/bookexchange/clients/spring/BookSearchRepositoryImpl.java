@@ -0,0 +1,73 @@
+package com.example.bookexchange.clients.spring;
+
+import com.example.bookexchange.clients.entity.BookEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public class BookSearchRepositoryImpl implements BookSearchRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<RankedBook> searchRanked(String title, String author, String isbn, After after, int limit) {
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        List<String> relevance = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        String normalizedTitle = normalize(title);
+        if (normalizedTitle != null) {
+            where.append(" AND lower(b.title) LIKE :titlePattern");
+            relevance.add("similarity(lower(b.title), :title)");
+            params.put("titlePattern", "%" + normalizedTitle + "%");
+            params.put("title", normalizedTitle);
+        }
+        String normalizedAuthor = normalize(author);
+        if (normalizedAuthor != null) {
+            where.append(" AND lower(b.author) LIKE :authorPattern");
+            relevance.add("similarity(lower(b.author), :author)");
+            params.put("authorPattern", "%" + normalizedAuthor + "%");
+            params.put("author", normalizedAuthor);
+        }
+        if (isbn != null) {
+            where.append(" AND b.isbn = :isbn");
+            params.put("isbn", isbn);
+        }
+
+        String score = "CAST(" + (relevance.isEmpty() ? "0" : String.join(" + ", relevance)) + " AS double precision)";
+        if (after != null) {
+            where.append(" AND (").append(score).append(" < :afterScore OR (").append(score)
+                    .append(" = :afterScore AND (b.title > :afterTitle OR (b.title = :afterTitle AND b.id > :afterId))))");
+            params.put("afterScore", after.score());
+            params.put("afterTitle", after.title());
+            params.put("afterId", after.id());
+        }
+
+        String sql = "SELECT {b.*}, " + score + " AS score FROM books b" + where
+                + " ORDER BY score DESC, b.title, b.id LIMIT :limit";
+        params.put("limit", limit);
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class);
+        query.addEntity("b", BookEntity.class);
+        query.addScalar("score", StandardBasicTypes.DOUBLE);
+        params.forEach(query::setParameter);
+        return query.getResultList().stream()
+                .map(row -> new RankedBook((BookEntity) row[0], (Double) row[1]))
+                .toList();
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,13 +1,52 @@
 package com.example.bookexchange.clients.spring;
 
+import com.example.bookexchange.api.dto.ExchangeResponse;
 import com.example.bookexchange.clients.entity.ExchangeEntity;
+import com.example.bookexchange.models.ExchangeStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 public interface ExchangeJpaRepository extends JpaRepository<ExchangeEntity, UUID> {
-    List<ExchangeEntity> findByRequesterId(UUID requesterId);
-    List<ExchangeEntity> findByOwnerId(UUID ownerId);
+    // Pages are built straight into the response record: no managed entity, no domain copy.
+    String PAGE_SELECT = "SELECT new com.example.bookexchange.api.dto.ExchangeResponse(" +
+            "e.id, e.requesterId, e.ownerId, e.inventoryId, e.status, e.createdAt, e.updatedAt) FROM ExchangeEntity e ";
+
     List<ExchangeEntity> findByInventoryId(UUID inventoryId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE ExchangeEntity e SET e.status = :next, e.updatedAt = :updatedAt " +
+            "WHERE e.id = :id AND e.status = :expected")
+    int updateStatusIfCurrent(@Param("id") UUID id,
+                              @Param("expected") ExchangeStatus expected,
+                              @Param("next") ExchangeStatus next,
+                              @Param("updatedAt") Instant updatedAt);
+
+    @Query(PAGE_SELECT + "WHERE e.ownerId = :ownerId ORDER BY e.createdAt DESC, e.id DESC")
+    List<ExchangeResponse> findPageByOwnerId(@Param("ownerId") UUID ownerId, Limit limit);
+
+    @Query(PAGE_SELECT + "WHERE e.ownerId = :ownerId AND " +
+            "(e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    List<ExchangeResponse> findPageByOwnerIdBefore(@Param("ownerId") UUID ownerId,
+                                                   @Param("createdAt") Instant createdAt,
+                                                   @Param("id") UUID id,
+                                                   Limit limit);
+
+    @Query(PAGE_SELECT + "WHERE e.requesterId = :requesterId ORDER BY e.createdAt DESC, e.id DESC")
+    List<ExchangeResponse> findPageByRequesterId(@Param("requesterId") UUID requesterId, Limit limit);
+
+    @Query(PAGE_SELECT + "WHERE e.requesterId = :requesterId AND " +
+            "(e.createdAt < :createdAt OR (e.createdAt = :createdAt AND e.id < :id)) " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    List<ExchangeResponse> findPageByRequesterIdBefore(@Param("requesterId") UUID requesterId,
+                                                       @Param("createdAt") Instant createdAt,
+                                                       @Param("id") UUID id,
+                                                       Limit limit);
 }
@@ -1,15 +1,63 @@
 package com.example.bookexchange.clients.spring;
 
+import com.example.bookexchange.api.dto.InventoryResponse;
 import com.example.bookexchange.clients.entity.InventoryEntity;
 import com.example.bookexchange.models.InventoryStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface InventoryJpaRepository extends JpaRepository<InventoryEntity, UUID> {
-    List<InventoryEntity> findByUserId(UUID userId);
+    // Pages are built straight into the response record: no managed entity, no domain copy.
+    String PAGE_SELECT = "SELECT new com.example.bookexchange.api.dto.InventoryResponse(" +
+            "i.id, i.userId, i.bookId, i.status, i.conditionValue) FROM InventoryEntity i ";
+
     Optional<InventoryEntity> findByUserIdAndBookId(UUID userId, UUID bookId);
     List<InventoryEntity> findByStatus(InventoryStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE InventoryEntity i SET i.status = :next WHERE i.id = :id AND i.status = :expected")
+    int updateStatusIfCurrent(@Param("id") UUID id,
+                              @Param("expected") InventoryStatus expected,
+                              @Param("next") InventoryStatus next);
+
+    @Query(PAGE_SELECT + "WHERE i.userId = :userId ORDER BY i.id")
+    List<InventoryResponse> findPageByUserId(@Param("userId") UUID userId, Limit limit);
+
+    @Query(PAGE_SELECT + "WHERE i.userId = :userId AND i.id > :id ORDER BY i.id")
+    List<InventoryResponse> findPageByUserIdAfter(@Param("userId") UUID userId, @Param("id") UUID id, Limit limit);
+
+    // The status is a literal so PostgreSQL can match the partial index idx_inventory_book_available.
+    @Query("SELECT i.id AS inventoryId, i.bookId AS bookId, u.id AS ownerId, u.username AS ownerUsername, "
+            + "u.rating AS ownerRating, i.conditionValue AS conditionValue "
+            + "FROM InventoryEntity i JOIN UserEntity u ON u.id = i.userId "
+            + "WHERE i.bookId = :bookId AND i.status = com.example.bookexchange.models.InventoryStatus.AVAILABLE "
+            + "ORDER BY u.rating DESC, i.id")
+    List<AvailableCopyRow> findAvailableByBookId(@Param("bookId") UUID bookId, Limit limit);
+
+    @Query("SELECT i.id AS inventoryId, i.bookId AS bookId, u.id AS ownerId, u.username AS ownerUsername, "
+            + "u.rating AS ownerRating, i.conditionValue AS conditionValue "
+            + "FROM InventoryEntity i JOIN UserEntity u ON u.id = i.userId "
+            + "WHERE i.bookId = :bookId AND i.status = com.example.bookexchange.models.InventoryStatus.AVAILABLE "
+            + "AND i.userId <> :ownerId "
+            + "ORDER BY u.rating DESC, i.id")
+    List<AvailableCopyRow> findAvailableByBookIdExcludingOwner(@Param("bookId") UUID bookId,
+                                                              @Param("ownerId") UUID ownerId,
+                                                              Limit limit);
+
+    interface AvailableCopyRow {
+        UUID getInventoryId();
+        UUID getBookId();
+        UUID getOwnerId();
+        String getOwnerUsername();
+        BigDecimal getOwnerRating();
+        String getConditionValue();
+    }
 }
@@ -3,11 +3,27 @@ package com.example.bookexchange.clients.spring;
 import com.example.bookexchange.clients.entity.ReviewEntity;
 import com.example.bookexchange.models.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface ReviewJpaRepository extends JpaRepository<ReviewEntity, UUID> {
     List<ReviewEntity> findByExchangeId(UUID exchangeId);
     List<ReviewEntity> findByTargetTypeAndTargetId(Review.TargetType targetType, UUID targetId);
+
+    @Query("SELECT r FROM ReviewEntity r WHERE r.targetType = :targetType AND r.targetId IN :targetIds "
+            + "ORDER BY r.targetId, r.createdAt DESC, r.id DESC")
+    List<ReviewEntity> findByTargets(@Param("targetType") Review.TargetType targetType,
+                                     @Param("targetIds") Collection<UUID> targetIds);
+
+    @Query(value = "SELECT id, exchange_id, author_id, target_type, target_id, rating, comment, created_at FROM ("
+            + "SELECT r.*, ROW_NUMBER() OVER (PARTITION BY r.target_id ORDER BY r.created_at DESC, r.id DESC) AS rn "
+            + "FROM reviews r WHERE r.target_type = :targetType AND r.target_id IN (:targetIds)) ranked "
+            + "WHERE rn <= :limit ORDER BY target_id, created_at DESC, id DESC", nativeQuery = true)
+    List<ReviewEntity> findTopByTargets(@Param("targetType") String targetType,
+                                        @Param("targetIds") Collection<UUID> targetIds,
+                                        @Param("limit") int limit);
 }
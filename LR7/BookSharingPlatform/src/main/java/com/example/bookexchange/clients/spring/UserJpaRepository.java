@@ -2,6 +2,9 @@ package com.example.bookexchange.clients.spring;
 
 import com.example.bookexchange.clients.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -9,6 +12,11 @@ import java.util.UUID;
 public interface UserJpaRepository extends JpaRepository<UserEntity, UUID> {
     Optional<UserEntity> findByEmail(String email);
     Optional<UserEntity> findByUsername(String username);
-    boolean existsByEmail(String email);
-    boolean existsByUsername(String username);
+
+    // Folds a coalesced batch of reviews into the running aggregates of one target.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserEntity e SET e.ratingSum = e.ratingSum + :sum, e.ratingCount = e.ratingCount + :count, "
+            + "e.rating = round(cast(e.ratingSum + :sum as BigDecimal) / (e.ratingCount + :count), 2) "
+            + "WHERE e.id = :id")
+    int addRatings(@Param("id") UUID id, @Param("sum") long sum, @Param("count") int count);
 }
@@ -1,9 +1,9 @@
 package com.example.bookexchange.controllers;
 
 import com.example.bookexchange.controllers.port.UserGateway;
+import com.example.bookexchange.controllers.port.IdGenerator;
 import com.example.bookexchange.models.AuthToken;
 import com.example.bookexchange.models.User;
-import com.example.bookexchange.shared.exception.ConflictException;
 import com.example.bookexchange.shared.exception.UnauthorizedException;
 import com.example.bookexchange.shared.security.JwtUtil;
 import lombok.RequiredArgsConstructor;
@@ -21,22 +21,17 @@ public class AuthUseCase {
     private final UserGateway userGateway;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
+    private final IdGenerator idGenerator;
 
     public User register(String username, String email, String rawPassword) {
-        if (userGateway.existsByEmail(email)) {
-            throw new ConflictException("Email is already registered");
-        }
-        if (userGateway.existsByUsername(username)) {
-            throw new ConflictException("Username is already taken");
-        }
         User user = User.builder()
-                .id(UUID.randomUUID())
+                .id(idGenerator.nextId())
                 .username(username)
                 .email(email)
                 .passwordHash(passwordEncoder.encode(rawPassword))
                 .rating(BigDecimal.ZERO)
                 .build();
-        User saved = userGateway.save(user);
+        User saved = userGateway.insert(user);
         log.info("Registered new user: {}", saved.getId());
         return saved;
     }
@@ -0,0 +1,172 @@
+package com.example.bookexchange.controllers;
+
+import com.example.bookexchange.controllers.port.BookGateway;
+import com.example.bookexchange.controllers.port.BookSuggestionIndex;
+import com.example.bookexchange.controllers.port.IdGenerator;
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.BookImportResult;
+import com.example.bookexchange.models.BookImportRow;
+import com.example.bookexchange.shared.config.CatalogProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BookImportUseCase {
+    private final BookGateway bookGateway;
+    private final IdGenerator idGenerator;
+    private final CatalogProperties catalogProperties;
+    private final BookSuggestionIndex bookSuggestionIndex;
+
+    public BookImportResult importBooks(Stream<BookImportRow> rows) {
+        CatalogProperties.BulkImport config = catalogProperties.getBulkImport();
+        Summary summary = new Summary(config.getMaxReportedFailures());
+        List<BookImportRow> chunk = new ArrayList<>(config.getBatchSize());
+        rows.forEach(row -> {
+            summary.received++;
+            String error = validate(row);
+            if (error != null) {
+                summary.fail(row, BookImportResult.Outcome.INVALID, error);
+                return;
+            }
+            chunk.add(row);
+            if (chunk.size() >= config.getBatchSize()) {
+                flush(chunk, summary);
+                chunk.clear();
+            }
+        });
+        if (!chunk.isEmpty()) {
+            flush(chunk, summary);
+        }
+        log.info("Catalog import finished: {} received, {} inserted, {} duplicates, {} rejected",
+                summary.received, summary.inserted, summary.duplicates, summary.rejected);
+        return summary.toResult();
+    }
+
+    private void flush(List<BookImportRow> chunk, Summary summary) {
+        Set<String> chunkIsbns = new HashSet<>();
+        List<BookImportRow> unique = new ArrayList<>(chunk.size());
+        for (BookImportRow row : chunk) {
+            String isbn = normalizeIsbn(row.getIsbn());
+            if (isbn != null && !chunkIsbns.add(isbn)) {
+                summary.fail(row, BookImportResult.Outcome.DUPLICATE, "Duplicate ISBN in import");
+            } else {
+                unique.add(row);
+            }
+        }
+
+        Set<String> existing = bookGateway.findExistingIsbns(chunkIsbns);
+        List<BookImportRow> candidateRows = new ArrayList<>(unique.size());
+        List<Book> candidates = new ArrayList<>(unique.size());
+        for (BookImportRow row : unique) {
+            String isbn = normalizeIsbn(row.getIsbn());
+            if (isbn != null && existing.contains(isbn)) {
+                summary.fail(row, BookImportResult.Outcome.DUPLICATE, "Book with this ISBN already exists");
+                continue;
+            }
+            candidateRows.add(row);
+            candidates.add(Book.builder()
+                    .id(idGenerator.nextId())
+                    .title(row.getTitle().trim())
+                    .author(row.getAuthor().trim())
+                    .isbn(isbn)
+                    .rating(BigDecimal.ZERO)
+                    .build());
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> inserted = new HashSet<>();
+        for (Book book : bookGateway.insertAll(candidates)) {
+            inserted.add(book.getId());
+            bookSuggestionIndex.add(book);
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            if (inserted.contains(candidates.get(i).getId())) {
+                summary.inserted++;
+            } else {
+                summary.fail(candidateRows.get(i), BookImportResult.Outcome.DUPLICATE, "Book with this ISBN already exists");
+            }
+        }
+    }
+
+    private String validate(BookImportRow row) {
+        if (row.getError() != null) {
+            return row.getError();
+        }
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        if (row.getTitle().trim().length() > 500) {
+            return "Title is longer than 500 characters";
+        }
+        if (row.getAuthor() == null || row.getAuthor().isBlank()) {
+            return "Author is required";
+        }
+        if (row.getAuthor().trim().length() > 255) {
+            return "Author is longer than 255 characters";
+        }
+        String isbn = normalizeIsbn(row.getIsbn());
+        if (isbn != null && isbn.length() > 32) {
+            return "ISBN is longer than 32 characters";
+        }
+        return null;
+    }
+
+    private static String normalizeIsbn(String isbn) {
+        if (isbn == null || isbn.isBlank()) {
+            return null;
+        }
+        return isbn.trim();
+    }
+
+    private static final class Summary {
+        private final int maxReportedFailures;
+        private final List<BookImportResult.Failure> failures = new ArrayList<>();
+        private long received;
+        private long inserted;
+        private long duplicates;
+        private long rejected;
+        private boolean truncated;
+
+        private Summary(int maxReportedFailures) {
+            this.maxReportedFailures = maxReportedFailures;
+        }
+
+        private void fail(BookImportRow row, BookImportResult.Outcome outcome, String message) {
+            if (outcome == BookImportResult.Outcome.DUPLICATE) {
+                duplicates++;
+            } else {
+                rejected++;
+            }
+            if (failures.size() < maxReportedFailures) {
+                failures.add(new BookImportResult.Failure(row.getLine(), normalizeIsbn(row.getIsbn()), outcome, message));
+            } else {
+                truncated = true;
+            }
+        }
+
+        private BookImportResult toResult() {
+            return BookImportResult.builder()
+                    .received(received)
+                    .inserted(inserted)
+                    .duplicates(duplicates)
+                    .rejected(rejected)
+                    .failures(failures.stream().sorted(Comparator.comparingLong(BookImportResult.Failure::getLine)).toList())
+                    .failuresTruncated(truncated)
+                    .build();
+        }
+    }
+}
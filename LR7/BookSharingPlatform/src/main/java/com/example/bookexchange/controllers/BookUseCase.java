@@ -1,7 +1,12 @@
 package com.example.bookexchange.controllers;
 
 import com.example.bookexchange.controllers.port.BookGateway;
+import com.example.bookexchange.controllers.port.BookSuggestionIndex;
+import com.example.bookexchange.controllers.port.IdGenerator;
 import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.BookSuggestion;
+import com.example.bookexchange.models.CursorPage;
+import com.example.bookexchange.models.PageQuery;
 import com.example.bookexchange.shared.exception.ConflictException;
 import com.example.bookexchange.shared.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -11,12 +16,18 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class BookUseCase {
+    static final int DEFAULT_SUGGESTIONS = 10;
+    static final int MAX_SUGGESTIONS = 50;
+
     private final BookGateway bookGateway;
+    private final IdGenerator idGenerator;
+    private final BookSuggestionIndex bookSuggestionIndex;
 
     public Book addBook(String title, String author, String isbn) {
         String normalizedIsbn = isbn == null ? null : isbn.trim();
@@ -24,13 +35,14 @@ public class BookUseCase {
             throw new ConflictException("Book with this ISBN already exists");
         }
         Book book = Book.builder()
-                .id(UUID.randomUUID())
+                .id(idGenerator.nextId())
                 .title(title)
                 .author(author)
                 .isbn(normalizedIsbn)
                 .rating(BigDecimal.ZERO)
                 .build();
-        Book saved = bookGateway.save(book);
+        Book saved = bookGateway.insert(book);
+        bookSuggestionIndex.add(saved);
         log.info("Book added to catalog: {}", saved.getId());
         return saved;
     }
@@ -40,7 +52,16 @@ public class BookUseCase {
                 .orElseThrow(() -> new NotFoundException("Book not found"));
     }
 
-    public List<Book> search(String title, String author, String isbn) {
-        return bookGateway.search(title, author, isbn);
+    public CursorPage<Book> search(String title, String author, String isbn, PageQuery page) {
+        return bookGateway.search(title, author, isbn, page);
+    }
+
+    public void exportSearch(String title, String author, String isbn, Consumer<? super Book> sink) {
+        bookGateway.forEachMatching(title, author, isbn, sink);
+    }
+
+    public List<BookSuggestion> suggest(String prefix, Integer limit) {
+        int size = limit == null ? DEFAULT_SUGGESTIONS : Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return bookSuggestionIndex.suggest(prefix, size);
     }
 }
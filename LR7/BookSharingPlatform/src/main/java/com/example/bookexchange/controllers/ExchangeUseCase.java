@@ -1,22 +1,30 @@
 package com.example.bookexchange.controllers;
 
+import com.example.bookexchange.api.dto.BookMovementResponse;
+import com.example.bookexchange.api.dto.ExchangeResponse;
+import com.example.bookexchange.controllers.port.ExchangeEventPublisher;
 import com.example.bookexchange.controllers.port.ExchangeGateway;
 import com.example.bookexchange.controllers.port.BookMovementGateway;
+import com.example.bookexchange.controllers.port.BookMovementRecorder;
 import com.example.bookexchange.controllers.port.InventoryGateway;
+import com.example.bookexchange.controllers.port.IdGenerator;
 import com.example.bookexchange.models.BookMovement;
+import com.example.bookexchange.models.CursorPage;
 import com.example.bookexchange.models.ExchangeRequest;
 import com.example.bookexchange.models.ExchangeStatus;
 import com.example.bookexchange.models.InventoryItem;
 import com.example.bookexchange.models.InventoryStatus;
+import com.example.bookexchange.models.PageQuery;
 import com.example.bookexchange.shared.exception.ConflictException;
 import com.example.bookexchange.shared.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 @Slf4j
@@ -25,19 +33,24 @@ public class ExchangeUseCase {
     private final ExchangeGateway exchangeGateway;
     private final InventoryGateway inventoryGateway;
     private final BookMovementGateway bookMovementGateway;
+    private final BookMovementRecorder bookMovementRecorder;
+    private final IdGenerator idGenerator;
+    private final ExchangeEventPublisher exchangeEventPublisher;
 
+    @Transactional
     public ExchangeRequest requestExchange(UUID requesterId, UUID inventoryId) {
         InventoryItem item = inventoryGateway.findById(inventoryId)
                 .orElseThrow(() -> new NotFoundException("Inventory item not found"));
         if (item.getUserId().equals(requesterId)) {
             throw new ConflictException("Cannot request your own book");
         }
-        if (item.getStatus() != InventoryStatus.AVAILABLE) {
+        if (item.getStatus() != InventoryStatus.AVAILABLE
+                || !inventoryGateway.compareAndSetStatus(inventoryId, InventoryStatus.AVAILABLE, InventoryStatus.BUSY)) {
             throw new ConflictException("Book is not available for exchange");
         }
         Instant now = Instant.now();
         ExchangeRequest request = ExchangeRequest.builder()
-                .id(UUID.randomUUID())
+                .id(idGenerator.nextId())
                 .requesterId(requesterId)
                 .ownerId(item.getUserId())
                 .inventoryId(inventoryId)
@@ -45,34 +58,41 @@ public class ExchangeUseCase {
                 .createdAt(now)
                 .updatedAt(now)
                 .build();
-        ExchangeRequest saved = exchangeGateway.save(request);
-        inventoryGateway.save(item.withStatus(InventoryStatus.BUSY));
-        recordMovement(saved, item, ExchangeStatus.REQUESTED);
+        ExchangeRequest saved = exchangeGateway.insert(request);
+        recordMovement(saved, ExchangeStatus.REQUESTED);
+        exchangeEventPublisher.publish(saved);
         log.info("Exchange requested: {}", saved.getId());
         return saved;
     }
 
+    @Transactional
     public ExchangeRequest updateStatus(UUID exchangeId, ExchangeStatus nextStatus) {
         ExchangeRequest exchange = exchangeGateway.findById(exchangeId)
                 .orElseThrow(() -> new NotFoundException("Exchange request not found"));
-        ExchangeRequest updated = exchange.withStatus(nextStatus).withUpdatedAt(Instant.now());
-        ExchangeRequest saved = exchangeGateway.save(updated);
-
-        if (nextStatus == ExchangeStatus.COMPLETED) {
-            inventoryGateway.findById(saved.getInventoryId()).ifPresent(item ->
-                    inventoryGateway.save(item.withStatus(InventoryStatus.AVAILABLE)));
+        ExchangeStatus currentStatus = exchange.getStatus();
+        if (!currentStatus.canTransitionTo(nextStatus)) {
+            throw new ConflictException("Cannot change exchange status from " + currentStatus + " to " + nextStatus);
         }
-        inventoryGateway.findById(saved.getInventoryId()).ifPresent(item -> recordMovement(saved, item, nextStatus));
-        log.info("Exchange {} status changed to {}", exchangeId, nextStatus);
-        return saved;
+        Instant now = Instant.now();
+        if (!exchangeGateway.compareAndSetStatus(exchangeId, currentStatus, nextStatus, now)) {
+            throw new ConflictException("Exchange status was changed concurrently");
+        }
+        ExchangeRequest updated = exchange.withStatus(nextStatus).withUpdatedAt(now);
+        if (nextStatus.releasesInventory()) {
+            inventoryGateway.compareAndSetStatus(updated.getInventoryId(), InventoryStatus.BUSY, InventoryStatus.AVAILABLE);
+        }
+        recordMovement(updated, nextStatus);
+        exchangeEventPublisher.publish(updated);
+        log.info("Exchange {} status changed from {} to {}", exchangeId, currentStatus, nextStatus);
+        return updated;
     }
 
-    public List<ExchangeRequest> getIncoming(UUID ownerId) {
-        return exchangeGateway.findByOwnerId(ownerId);
+    public CursorPage<ExchangeResponse> getIncoming(UUID ownerId, PageQuery page) {
+        return exchangeGateway.findByOwnerId(ownerId, page);
     }
 
-    public List<ExchangeRequest> getOutgoing(UUID requesterId) {
-        return exchangeGateway.findByRequesterId(requesterId);
+    public CursorPage<ExchangeResponse> getOutgoing(UUID requesterId, PageQuery page) {
+        return exchangeGateway.findByRequesterId(requesterId, page);
     }
 
     public ExchangeRequest getById(UUID exchangeId) {
@@ -80,13 +100,17 @@ public class ExchangeUseCase {
                 .orElseThrow(() -> new NotFoundException("Exchange request not found"));
     }
 
-    public List<BookMovement> getHistory(UUID userId) {
-        return bookMovementGateway.findByUserId(userId);
+    public CursorPage<BookMovementResponse> getHistory(UUID userId, PageQuery page) {
+        return bookMovementGateway.findByUserId(userId, page);
+    }
+
+    public void exportHistory(UUID userId, Consumer<? super BookMovementResponse> sink) {
+        bookMovementGateway.forEachByUserId(userId, sink);
     }
 
-    private void recordMovement(ExchangeRequest exchange, InventoryItem item, ExchangeStatus status) {
-        bookMovementGateway.save(BookMovement.builder()
-                .id(UUID.randomUUID())
+    private void recordMovement(ExchangeRequest exchange, ExchangeStatus status) {
+        bookMovementRecorder.record(BookMovement.builder()
+                .id(idGenerator.nextId())
                 .exchangeId(exchange.getId())
                 .inventoryId(exchange.getInventoryId())
                 .fromUserId(exchange.getOwnerId())
@@ -1,10 +1,15 @@
 package com.example.bookexchange.controllers;
 
+import com.example.bookexchange.api.dto.InventoryResponse;
 import com.example.bookexchange.controllers.port.BookGateway;
 import com.example.bookexchange.controllers.port.InventoryGateway;
 import com.example.bookexchange.controllers.port.UserGateway;
+import com.example.bookexchange.controllers.port.IdGenerator;
+import com.example.bookexchange.models.AvailableCopy;
+import com.example.bookexchange.models.CursorPage;
 import com.example.bookexchange.models.InventoryItem;
 import com.example.bookexchange.models.InventoryStatus;
+import com.example.bookexchange.models.PageQuery;
 import com.example.bookexchange.shared.exception.ConflictException;
 import com.example.bookexchange.shared.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +26,7 @@ public class InventoryUseCase {
     private final InventoryGateway inventoryGateway;
     private final UserGateway userGateway;
     private final BookGateway bookGateway;
+    private final IdGenerator idGenerator;
 
     public InventoryItem addToInventory(UUID userId, UUID bookId, String condition) {
         userGateway.findById(userId).orElseThrow(() -> new NotFoundException("User not found"));
@@ -29,13 +35,13 @@ public class InventoryUseCase {
             throw new ConflictException("Book already exists in inventory");
         }
         InventoryItem item = InventoryItem.builder()
-                .id(UUID.randomUUID())
+                .id(idGenerator.nextId())
                 .userId(userId)
                 .bookId(bookId)
                 .status(InventoryStatus.AVAILABLE)
                 .condition(condition)
                 .build();
-        InventoryItem saved = inventoryGateway.save(item);
+        InventoryItem saved = inventoryGateway.insert(item);
         log.info("Inventory item created: {}", saved.getId());
         return saved;
     }
@@ -45,8 +51,13 @@ public class InventoryUseCase {
                 .orElseThrow(() -> new NotFoundException("Inventory item not found"));
     }
 
-    public List<InventoryItem> getUserInventory(UUID userId) {
-        return inventoryGateway.findByUserId(userId);
+    public CursorPage<InventoryResponse> getUserInventory(UUID userId, PageQuery page) {
+        return inventoryGateway.findByUserId(userId, page);
+    }
+
+    public List<AvailableCopy> getAvailableCopies(UUID bookId, UUID callerId, Integer limit) {
+        bookGateway.findById(bookId).orElseThrow(() -> new NotFoundException("Book not found"));
+        return inventoryGateway.findAvailableByBookId(bookId, callerId, PageQuery.of(null, limit).getLimit());
     }
 
     public InventoryItem updateStatus(UUID inventoryId, InventoryStatus status) {
@@ -0,0 +1,88 @@
+package com.example.bookexchange.controllers;
+
+import com.example.bookexchange.controllers.port.MovementPartitionGateway;
+import com.example.bookexchange.models.MovementPartition;
+import com.example.bookexchange.shared.config.MovementPartitionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MovementArchiveJob {
+    private final MovementPartitionGateway partitionGateway;
+    private final MovementPartitionProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(cron = "${movements.partitions.cron:0 15 2 * * *}")
+    public void run() {
+        run(YearMonth.now(ZoneOffset.UTC));
+    }
+
+    void run(YearMonth current) {
+        createUpcoming(current);
+        YearMonth oldestKept = current.minusMonths(properties.getRetentionMonths() - 1L);
+        List<MovementPartition> partitions = partitionGateway.findPartitions();
+        for (MovementPartition partition : partitions) {
+            if (partition.isAttached() && partition.getMonth().isBefore(oldestKept)) {
+                partitionGateway.detachPartition(partition.getMonth());
+                log.info("Detached movement partition {}", partition.getMonth());
+            }
+        }
+        // Detached partitions left over from an interrupted run are finished as well.
+        for (MovementPartition partition : partitions) {
+            if (!partition.isAttached() || partition.getMonth().isBefore(oldestKept)) {
+                archive(partition.getMonth());
+            }
+        }
+    }
+
+    private void createUpcoming(YearMonth current) {
+        for (int i = 0; i <= properties.getPremakeMonths(); i++) {
+            YearMonth month = current.plusMonths(i);
+            try {
+                partitionGateway.createPartition(month);
+            } catch (DataAccessException e) {
+                // Rows for that month already sit in the default partition; they have to be moved by hand.
+                log.error("Could not create movement partition {}", month, e);
+            }
+        }
+    }
+
+    private void archive(YearMonth month) {
+        long moved = 0;
+        while (true) {
+            int batch = partitionGateway.archiveBatch(month, properties.getArchiveBatchSize());
+            meterRegistry.counter("movements.archive.moved").increment(batch);
+            moved += batch;
+            if (batch < properties.getArchiveBatchSize()) {
+                break;
+            }
+            if (!pause()) {
+                log.info("Archived {} movements of {} before shutdown, resuming next run", moved, month);
+                return;
+            }
+        }
+        partitionGateway.dropPartition(month);
+        log.info("Archived {} movements of {} and dropped its partition", moved, month);
+    }
+
+    // Spaces the batches out so archiving never saturates I/O or replication next to live traffic.
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getArchiveBatchPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
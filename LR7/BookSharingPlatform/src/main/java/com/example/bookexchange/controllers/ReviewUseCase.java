@@ -2,25 +2,27 @@ package com.example.bookexchange.controllers;
 
 import com.example.bookexchange.controllers.port.ExchangeGateway;
 import com.example.bookexchange.controllers.port.InventoryGateway;
-import com.example.bookexchange.controllers.port.BookGateway;
+import com.example.bookexchange.controllers.port.RatingRefreshQueue;
 import com.example.bookexchange.controllers.port.ReviewGateway;
-import com.example.bookexchange.controllers.port.UserGateway;
-import com.example.bookexchange.models.Book;
+import com.example.bookexchange.controllers.port.IdGenerator;
 import com.example.bookexchange.models.ExchangeRequest;
 import com.example.bookexchange.models.ExchangeStatus;
 import com.example.bookexchange.models.InventoryItem;
 import com.example.bookexchange.models.Review;
-import com.example.bookexchange.models.User;
 import com.example.bookexchange.shared.exception.ConflictException;
 import com.example.bookexchange.shared.exception.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -29,10 +31,11 @@ import java.util.UUID;
 public class ReviewUseCase {
     private final ReviewGateway reviewGateway;
     private final ExchangeGateway exchangeGateway;
-    private final UserGateway userGateway;
-    private final BookGateway bookGateway;
     private final InventoryGateway inventoryGateway;
+    private final RatingRefreshQueue ratingRefreshQueue;
+    private final IdGenerator idGenerator;
 
+    @Transactional
     public Review leaveReview(UUID authorId, UUID exchangeId, Review.TargetType targetType, int rating, String comment) {
         if (rating < 1 || rating > 5) {
             throw new ConflictException("Rating must be between 1 and 5");
@@ -48,7 +51,7 @@ public class ReviewUseCase {
         UUID targetId = resolveTargetId(exchange, authorId, targetType);
 
         Review review = Review.builder()
-                .id(UUID.randomUUID())
+                .id(idGenerator.nextId())
                 .exchangeId(exchangeId)
                 .authorId(authorId)
                 .targetType(targetType)
@@ -57,8 +60,8 @@ public class ReviewUseCase {
                 .comment(comment)
                 .createdAt(Instant.now())
                 .build();
-        Review saved = reviewGateway.save(review);
-        recalculateRating(targetType, targetId);
+        Review saved = reviewGateway.insert(review);
+        ratingRefreshQueue.addRating(targetType, targetId, rating);
         log.info("Review {} created for {} {}", saved.getId(), targetType, targetId);
         return saved;
     }
@@ -67,6 +70,17 @@ public class ReviewUseCase {
         return reviewGateway.findByTargetTypeAndTargetId(targetType, targetId);
     }
 
+    public Map<UUID, List<Review>> getByTargets(Review.TargetType targetType, List<UUID> targetIds, Integer limitPerTarget) {
+        Set<UUID> ids = new LinkedHashSet<>(targetIds);
+        Map<UUID, List<Review>> grouped = new LinkedHashMap<>();
+        ids.forEach(id -> grouped.put(id, new ArrayList<>()));
+        if (!ids.isEmpty()) {
+            reviewGateway.findByTargets(targetType, ids, limitPerTarget)
+                    .forEach(review -> grouped.get(review.getTargetId()).add(review));
+        }
+        return grouped;
+    }
+
     private UUID resolveTargetId(ExchangeRequest exchange, UUID authorId, Review.TargetType targetType) {
         if (targetType == Review.TargetType.USER) {
             return exchange.getRequesterId().equals(authorId)
@@ -77,32 +91,4 @@ public class ReviewUseCase {
                 .orElseThrow(() -> new NotFoundException("Inventory item not found"));
         return item.getBookId();
     }
-
-    private void recalculateRating(Review.TargetType targetType, UUID targetId) {
-        List<Review> reviews = reviewGateway.findByTargetTypeAndTargetId(targetType, targetId);
-        if (reviews.isEmpty()) {
-            setZeroRating(targetType, targetId);
-            return;
-        }
-        BigDecimal avg = BigDecimal.valueOf(
-                        reviews.stream().mapToInt(Review::getRating).average().orElse(0.0))
-                .setScale(2, RoundingMode.HALF_UP);
-        if (targetType == Review.TargetType.USER) {
-            User user = userGateway.findById(targetId).orElseThrow(() -> new NotFoundException("User not found"));
-            userGateway.save(user.withRating(avg));
-        } else {
-            Book book = bookGateway.findById(targetId).orElseThrow(() -> new NotFoundException("Book not found"));
-            bookGateway.save(book.withRating(avg));
-        }
-    }
-
-    private void setZeroRating(Review.TargetType targetType, UUID targetId) {
-        if (targetType == Review.TargetType.USER) {
-            User user = userGateway.findById(targetId).orElseThrow(() -> new NotFoundException("User not found"));
-            userGateway.save(user.withRating(BigDecimal.ZERO));
-        } else {
-            Book book = bookGateway.findById(targetId).orElseThrow(() -> new NotFoundException("Book not found"));
-            bookGateway.save(book.withRating(BigDecimal.ZERO));
-        }
-    }
 }
@@ -1,14 +1,25 @@
 package com.example.bookexchange.controllers.port;
 
 import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.CursorPage;
+import com.example.bookexchange.models.PageQuery;
+import com.example.bookexchange.models.RatingDelta;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface BookGateway {
     Book save(Book book);
+    Book insert(Book book);
+    List<Book> insertAll(List<Book> books);
     Optional<Book> findById(UUID id);
+    void addRatings(List<RatingDelta> deltas);
     Optional<Book> findByIsbn(String isbn);
-    List<Book> search(String title, String author, String isbn);
+    Set<String> findExistingIsbns(Collection<String> isbns);
+    CursorPage<Book> search(String title, String author, String isbn, PageQuery page);
+    void forEachMatching(String title, String author, String isbn, Consumer<? super Book> sink);
 }
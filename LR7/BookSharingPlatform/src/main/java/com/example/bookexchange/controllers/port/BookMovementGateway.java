@@ -1,11 +1,21 @@
 package com.example.bookexchange.controllers.port;
 
+import com.example.bookexchange.api.dto.BookMovementResponse;
 import com.example.bookexchange.models.BookMovement;
+import com.example.bookexchange.models.CursorPage;
+import com.example.bookexchange.models.PageQuery;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface BookMovementGateway {
     BookMovement save(BookMovement movement);
-    List<BookMovement> findByUserId(UUID userId);
+    BookMovement insert(BookMovement movement);
+    void insertAll(List<BookMovement> movements);
+    Set<UUID> findExistingIds(Collection<UUID> ids);
+    CursorPage<BookMovementResponse> findByUserId(UUID userId, PageQuery page);
+    void forEachByUserId(UUID userId, Consumer<? super BookMovementResponse> sink);
 }
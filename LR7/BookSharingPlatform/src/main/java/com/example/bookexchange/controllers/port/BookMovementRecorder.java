@@ -0,0 +1,7 @@
+package com.example.bookexchange.controllers.port;
+
+import com.example.bookexchange.models.BookMovement;
+
+public interface BookMovementRecorder {
+    void record(BookMovement movement);
+}
@@ -0,0 +1,11 @@
+package com.example.bookexchange.controllers.port;
+
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.BookSuggestion;
+
+import java.util.List;
+
+public interface BookSuggestionIndex {
+    void add(Book book);
+    List<BookSuggestion> suggest(String prefix, int limit);
+}
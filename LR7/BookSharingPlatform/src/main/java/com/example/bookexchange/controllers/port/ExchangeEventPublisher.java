@@ -0,0 +1,7 @@
+package com.example.bookexchange.controllers.port;
+
+import com.example.bookexchange.models.ExchangeRequest;
+
+public interface ExchangeEventPublisher {
+    void publish(ExchangeRequest exchange);
+}
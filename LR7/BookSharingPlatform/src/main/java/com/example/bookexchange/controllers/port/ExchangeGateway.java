@@ -1,15 +1,22 @@
 package com.example.bookexchange.controllers.port;
 
+import com.example.bookexchange.api.dto.ExchangeResponse;
+import com.example.bookexchange.models.CursorPage;
 import com.example.bookexchange.models.ExchangeRequest;
+import com.example.bookexchange.models.ExchangeStatus;
+import com.example.bookexchange.models.PageQuery;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ExchangeGateway {
     ExchangeRequest save(ExchangeRequest exchangeRequest);
+    ExchangeRequest insert(ExchangeRequest exchangeRequest);
     Optional<ExchangeRequest> findById(UUID id);
-    List<ExchangeRequest> findByRequesterId(UUID requesterId);
-    List<ExchangeRequest> findByOwnerId(UUID ownerId);
+    boolean compareAndSetStatus(UUID id, ExchangeStatus expected, ExchangeStatus next, Instant updatedAt);
+    CursorPage<ExchangeResponse> findByRequesterId(UUID requesterId, PageQuery page);
+    CursorPage<ExchangeResponse> findByOwnerId(UUID ownerId, PageQuery page);
     List<ExchangeRequest> findByInventoryId(UUID inventoryId);
 }
@@ -0,0 +1,7 @@
+package com.example.bookexchange.controllers.port;
+
+import java.util.UUID;
+
+public interface IdGenerator {
+    UUID nextId();
+}
@@ -1,7 +1,11 @@
 package com.example.bookexchange.controllers.port;
 
+import com.example.bookexchange.api.dto.InventoryResponse;
+import com.example.bookexchange.models.AvailableCopy;
+import com.example.bookexchange.models.CursorPage;
 import com.example.bookexchange.models.InventoryItem;
 import com.example.bookexchange.models.InventoryStatus;
+import com.example.bookexchange.models.PageQuery;
 
 import java.util.List;
 import java.util.Optional;
@@ -9,8 +13,11 @@ import java.util.UUID;
 
 public interface InventoryGateway {
     InventoryItem save(InventoryItem item);
+    InventoryItem insert(InventoryItem item);
     Optional<InventoryItem> findById(UUID id);
-    List<InventoryItem> findByUserId(UUID userId);
+    boolean compareAndSetStatus(UUID id, InventoryStatus expected, InventoryStatus next);
+    CursorPage<InventoryResponse> findByUserId(UUID userId, PageQuery page);
     Optional<InventoryItem> findByUserIdAndBookId(UUID userId, UUID bookId);
     List<InventoryItem> findByStatus(InventoryStatus status);
+    List<AvailableCopy> findAvailableByBookId(UUID bookId, UUID excludedOwnerId, int limit);
 }
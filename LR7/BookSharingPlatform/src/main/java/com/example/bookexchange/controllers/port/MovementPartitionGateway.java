@@ -0,0 +1,14 @@
+package com.example.bookexchange.controllers.port;
+
+import com.example.bookexchange.models.MovementPartition;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface MovementPartitionGateway {
+    List<MovementPartition> findPartitions();
+    void createPartition(YearMonth month);
+    void detachPartition(YearMonth month);
+    int archiveBatch(YearMonth month, int batchSize);
+    void dropPartition(YearMonth month);
+}
@@ -0,0 +1,11 @@
+package com.example.bookexchange.controllers.port;
+
+import com.example.bookexchange.models.RatingDrift;
+import com.example.bookexchange.models.Review;
+
+import java.util.List;
+
+public interface RatingAggregateGateway {
+    List<RatingDrift> findDrift(Review.TargetType targetType, int limit);
+    boolean repair(RatingDrift drift);
+}
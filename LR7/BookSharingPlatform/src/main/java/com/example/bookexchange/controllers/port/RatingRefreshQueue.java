@@ -0,0 +1,11 @@
+package com.example.bookexchange.controllers.port;
+
+import com.example.bookexchange.models.Review;
+
+import java.util.UUID;
+
+public interface RatingRefreshQueue {
+    void addRating(Review.TargetType targetType, UUID targetId, int rating);
+
+    boolean isPending(Review.TargetType targetType, UUID targetId);
+}
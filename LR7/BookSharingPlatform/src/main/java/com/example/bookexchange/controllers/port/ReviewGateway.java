@@ -2,13 +2,16 @@ package com.example.bookexchange.controllers.port;
 
 import com.example.bookexchange.models.Review;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ReviewGateway {
     Review save(Review review);
+    Review insert(Review review);
     Optional<Review> findById(UUID id);
     List<Review> findByExchangeId(UUID exchangeId);
     List<Review> findByTargetTypeAndTargetId(Review.TargetType targetType, UUID targetId);
+    List<Review> findByTargets(Review.TargetType targetType, Collection<UUID> targetIds, Integer limitPerTarget);
 }
@@ -0,0 +1,18 @@
+package com.example.bookexchange.models;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Value
+@Builder
+public class AvailableCopy {
+    UUID inventoryId;
+    UUID bookId;
+    UUID ownerId;
+    String ownerUsername;
+    BigDecimal ownerRating;
+    String condition;
+}
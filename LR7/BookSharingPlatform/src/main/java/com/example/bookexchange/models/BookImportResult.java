@@ -0,0 +1,30 @@
+package com.example.bookexchange.models;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class BookImportResult {
+    long received;
+    long inserted;
+    long duplicates;
+    long rejected;
+    List<Failure> failures;
+    boolean failuresTruncated;
+
+    public enum Outcome {
+        DUPLICATE,
+        INVALID
+    }
+
+    @Value
+    public static class Failure {
+        long line;
+        String isbn;
+        Outcome outcome;
+        String message;
+    }
+}
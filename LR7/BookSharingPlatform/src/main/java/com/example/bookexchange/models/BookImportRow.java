@@ -0,0 +1,14 @@
+package com.example.bookexchange.models;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class BookImportRow {
+    long line;
+    String title;
+    String author;
+    String isbn;
+    String error;
+}
@@ -0,0 +1,17 @@
+package com.example.bookexchange.models;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+public class BookSuggestion {
+    String text;
+    Field field;
+    UUID bookId;
+
+    public enum Field {
+        TITLE,
+        AUTHOR
+    }
+}
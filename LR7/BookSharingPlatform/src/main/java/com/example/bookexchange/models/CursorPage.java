@@ -0,0 +1,20 @@
+package com.example.bookexchange.models;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Value
+public class CursorPage<T> {
+    List<T> items;
+    String nextCursor;
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(items.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
@@ -1,8 +1,34 @@
 package com.example.bookexchange.models;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum ExchangeStatus {
     REQUESTED,
     APPROVED,
     TRANSFERRED,
-    COMPLETED
+    COMPLETED,
+    DECLINED,
+    CANCELLED;
+
+    private static final Map<ExchangeStatus, Set<ExchangeStatus>> TRANSITIONS = new EnumMap<>(ExchangeStatus.class);
+
+    static {
+        TRANSITIONS.put(REQUESTED, EnumSet.of(APPROVED, DECLINED, CANCELLED));
+        TRANSITIONS.put(APPROVED, EnumSet.of(TRANSFERRED, CANCELLED));
+        TRANSITIONS.put(TRANSFERRED, EnumSet.of(COMPLETED));
+        TRANSITIONS.put(COMPLETED, EnumSet.noneOf(ExchangeStatus.class));
+        TRANSITIONS.put(DECLINED, EnumSet.noneOf(ExchangeStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(ExchangeStatus.class));
+    }
+
+    public boolean canTransitionTo(ExchangeStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
+    public boolean releasesInventory() {
+        return this == COMPLETED || this == DECLINED || this == CANCELLED;
+    }
 }
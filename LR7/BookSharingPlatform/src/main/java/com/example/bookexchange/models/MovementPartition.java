@@ -0,0 +1,13 @@
+package com.example.bookexchange.models;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.YearMonth;
+
+@Value
+@Builder
+public class MovementPartition {
+    YearMonth month;
+    boolean attached;
+}
@@ -0,0 +1,21 @@
+package com.example.bookexchange.models;
+
+import lombok.Value;
+
+@Value
+public class PageQuery {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    String cursor;
+    int limit;
+
+    public static PageQuery of(String cursor, Integer limit) {
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        return new PageQuery(cursor == null || cursor.isBlank() ? null : cursor, size);
+    }
+
+    public static PageQuery first(int limit) {
+        return of(null, limit);
+    }
+}
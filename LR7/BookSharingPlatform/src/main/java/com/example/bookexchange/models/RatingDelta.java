@@ -0,0 +1,14 @@
+package com.example.bookexchange.models;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+@Builder
+public class RatingDelta {
+    UUID targetId;
+    long ratingSum;
+    int ratingCount;
+}
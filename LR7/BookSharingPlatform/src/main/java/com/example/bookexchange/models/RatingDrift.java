@@ -0,0 +1,17 @@
+package com.example.bookexchange.models;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.UUID;
+
+@Value
+@Builder
+public class RatingDrift {
+    Review.TargetType targetType;
+    UUID targetId;
+    long storedSum;
+    int storedCount;
+    long actualSum;
+    int actualCount;
+}
@@ -0,0 +1,79 @@
+package com.example.bookexchange.shared.concurrency;
+
+import com.example.bookexchange.shared.config.DbConcurrencyProperties;
+import com.example.bookexchange.shared.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// With virtual threads Tomcat no longer caps concurrency, so thousands of requests could pile up
+// waiting on the Hikari pool and time out there after 30 seconds. A use case has to take a
+// permit before its transaction opens; when none frees up within max-wait the caller gets a 429.
+// Permits should stay below the pool size so the background writers always find a connection.
+// Login and registration are left out, as their time goes to BCrypt, which BoundedPasswordEncoder
+// already caps. So are the streaming import and exports, which would hold a permit for the whole
+// upload or download; exports have their own cap in ExportLimiter.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "db.concurrency", name = "enabled", havingValue = "true")
+public class DbPermitAspect {
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final ThreadLocal<Boolean> holding = new ThreadLocal<>();
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public DbPermitAspect(DbConcurrencyProperties properties, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(properties.getPermits(), true);
+        this.maxWaitNanos = properties.getMaxWait().toNanos();
+        this.waitTimer = Timer.builder("db.permits.wait")
+                .description("Time a use case waited for a database permit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("db.permits.rejected")
+                .description("Use case calls rejected because no database permit freed up in time")
+                .register(meterRegistry);
+        Gauge.builder("db.permits.available", permits, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    @Around("within(com.example.bookexchange.controllers.*UseCase) && execution(public * *(..))"
+            + " && !within(com.example.bookexchange.controllers.AuthUseCase)"
+            + " && !within(com.example.bookexchange.controllers.BookImportUseCase)"
+            + " && !execution(public * export*(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        // A use case calling another one already holds the permit for the whole call.
+        if (holding.get() != null) {
+            return joinPoint.proceed();
+        }
+        long startedAt = System.nanoTime();
+        boolean acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        waitTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            throw new TooManyRequestsException("Service is busy, try again later");
+        }
+        holding.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            holding.remove();
+            permits.release();
+        }
+    }
+
+    int availablePermits() {
+        return permits.availablePermits();
+    }
+}
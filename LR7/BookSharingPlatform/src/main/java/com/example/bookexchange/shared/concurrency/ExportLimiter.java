@@ -0,0 +1,58 @@
+package com.example.bookexchange.shared.concurrency;
+
+import com.example.bookexchange.shared.config.ExportProperties;
+import com.example.bookexchange.shared.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// A streamed export keeps one database connection (and, with virtual threads, a database permit)
+// until the last row is written, which can take up to spring.mvc.async.request-timeout. Exports
+// get their own small cap so a few of them cannot starve the regular requests; a caller over the
+// cap gets a 429 straight away instead of queueing behind a long download.
+@Component
+public class ExportLimiter {
+    private final Semaphore slots;
+    private final Counter rejected;
+
+    public ExportLimiter(ExportProperties properties, MeterRegistry meterRegistry) {
+        this.slots = new Semaphore(properties.getMaxConcurrent());
+        this.rejected = Counter.builder("exports.rejected")
+                .description("Export requests rejected because exports.max-concurrent were already running")
+                .register(meterRegistry);
+        Gauge.builder("exports.available", slots, Semaphore::availablePermits)
+                .register(meterRegistry);
+    }
+
+    // The slot is given back when the async response completes rather than when the body returns,
+    // so an export whose task is cancelled by the request timeout before it ever ran is released too.
+    public void acquire(HttpServletRequest request) {
+        if (!slots.tryAcquire()) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many exports in progress, try again later");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ExportLimiter.class.getName(),
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        if (released.compareAndSet(false, true)) {
+                            slots.release();
+                        }
+                    }
+                });
+    }
+
+    int availableSlots() {
+        return slots.availablePermits();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.bookexchange.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "catalog")
+public class CatalogProperties {
+    private final Search search = new Search();
+    private final Cache cache = new Cache();
+    private final BulkImport bulkImport = new BulkImport();
+
+    @Getter
+    @Setter
+    public static class Search {
+        private boolean trigramEnabled;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private long maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class BulkImport {
+        private int batchSize = 1000;
+        private int maxReportedFailures = 1000;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.bookexchange.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "db.concurrency")
+public class DbConcurrencyProperties {
+    private boolean enabled;
+    private int permits = 8;
+    private Duration maxWait = Duration.ofMillis(250);
+}
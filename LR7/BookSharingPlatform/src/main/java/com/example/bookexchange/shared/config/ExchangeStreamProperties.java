@@ -0,0 +1,19 @@
+package com.example.bookexchange.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "exchanges.stream")
+public class ExchangeStreamProperties {
+    private Duration timeout = Duration.ofMinutes(30);
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    private int maxConnectionsPerUser = 5;
+    private int sendQueueCapacity = 10_000;
+}
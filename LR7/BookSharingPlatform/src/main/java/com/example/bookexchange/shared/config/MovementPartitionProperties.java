@@ -0,0 +1,19 @@
+package com.example.bookexchange.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "movements.partitions")
+public class MovementPartitionProperties {
+    private int retentionMonths = 12;
+    private int premakeMonths = 3;
+    private int archiveBatchSize = 5000;
+    private Duration archiveBatchPause = Duration.ofMillis(200);
+}
@@ -0,0 +1,21 @@
+package com.example.bookexchange.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "movements.writer")
+public class MovementWriterProperties {
+    private int bufferCapacity = 10_000;
+    private Duration appendTimeout = Duration.ofSeconds(1);
+    private int batchSize = 500;
+    private Duration flushInterval = Duration.ofMillis(200);
+    private String journalDir;
+    private boolean syncWrites = true;
+}
@@ -0,0 +1,14 @@
+package com.example.bookexchange.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ratings.consistency-check")
+public class RatingConsistencyProperties {
+    private int batchSize = 1000;
+}
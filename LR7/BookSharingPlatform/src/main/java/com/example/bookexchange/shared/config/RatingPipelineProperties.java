@@ -0,0 +1,18 @@
+package com.example.bookexchange.shared.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "ratings.pipeline")
+public class RatingPipelineProperties {
+    private Duration window = Duration.ofSeconds(1);
+    private Duration maxStaleness = Duration.ofSeconds(10);
+    private int batchSize = 500;
+}
@@ -0,0 +1,140 @@
+package com.example.bookexchange.shared.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends connections of read-only transactions to a replica and everything else to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only bound once the
+// transaction has begun, after the transaction manager already asked for a connection.
+// Replicas are probed in the background; one that lags more than max-lag, or cannot be queried,
+// is skipped until it catches up, and reads fall back to the primary when none is usable.
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+    private final Counter fallbackReads;
+    private final ScheduledExecutorService prober = Executors.newSingleThreadScheduledExecutor(
+            new CustomizableThreadFactory("replica-lag-"));
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicaPools, Duration maxLag,
+                                      String lagQuery, MeterRegistry meterRegistry) {
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.lagQuery = lagQuery;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaPools.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaPools.get(i));
+            replicas.add(replica);
+            targets.put(replica.key, replica.dataSource);
+            Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag seen by the last probe, in seconds")
+                    .tag("replica", replica.key)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.primaryReads = routeCounter(meterRegistry, "primary");
+        this.replicaReads = routeCounter(meterRegistry, "replica");
+        this.fallbackReads = routeCounter(meterRegistry, "fallback");
+    }
+
+    public void start(Duration interval) {
+        checkLag();
+        prober.scheduleWithFixedDelay(this::checkLag, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryReads.increment();
+            return PRIMARY;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.usable) {
+                replicaReads.increment();
+                return replica.key;
+            }
+        }
+        fallbackReads.increment();
+        return PRIMARY;
+    }
+
+    void checkLag() {
+        for (Replica replica : replicas) {
+            boolean usable;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                replica.lagSeconds = rs.next() ? rs.getDouble(1) : Double.NaN;
+                usable = replica.lagSeconds <= maxLagSeconds;
+            } catch (SQLException | RuntimeException e) {
+                replica.lagSeconds = Double.NaN;
+                usable = false;
+                log.debug("Lag probe of {} failed", replica.key, e);
+            }
+            if (usable != replica.usable) {
+                log.warn("{} is now {} (lag {}s)", replica.key, usable ? "in rotation" : "out of rotation", replica.lagSeconds);
+            }
+            replica.usable = usable;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        prober.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static Counter routeCounter(MeterRegistry meterRegistry, String route) {
+        return Counter.builder("datasource.routing.connections")
+                .description("Connections handed out, by where they were routed")
+                .tag("route", route)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean usable;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.bookexchange.shared.exception;
+
+public class TooManyRequestsException extends BusinessException {
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
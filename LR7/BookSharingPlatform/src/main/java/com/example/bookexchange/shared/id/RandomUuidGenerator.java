@@ -0,0 +1,16 @@
+package com.example.bookexchange.shared.id;
+
+import com.example.bookexchange.controllers.port.IdGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "ids.generator", havingValue = "random")
+public class RandomUuidGenerator implements IdGenerator {
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bookexchange.shared.id;
+
+import com.example.bookexchange.controllers.port.IdGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.UUID;
+
+// RFC 9562 UUIDv7: millisecond timestamp plus a randomly seeded 12-bit counter, so ids from one
+// instance keep increasing and new rows land at the right edge of the primary key index.
+@Component
+@ConditionalOnProperty(name = "ids.generator", havingValue = "uuid-v7", matchIfMissing = true)
+public class UuidV7Generator implements IdGenerator {
+    private static final int MAX_SEQUENCE = 0xFFF;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Clock clock;
+    private long lastMillis = -1;
+    private int sequence;
+
+    public UuidV7Generator() {
+        this(Clock.systemUTC());
+    }
+
+    UuidV7Generator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public UUID nextId() {
+        long millis;
+        int seq;
+        synchronized (this) {
+            long now = clock.millis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                sequence = random.nextInt(MAX_SEQUENCE / 2);
+            } else if (++sequence > MAX_SEQUENCE) {
+                lastMillis++;
+                sequence = 0;
+            }
+            millis = lastMillis;
+            seq = sequence;
+        }
+        long mostSigBits = (millis << 16) | (0x7L << 12) | seq;
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
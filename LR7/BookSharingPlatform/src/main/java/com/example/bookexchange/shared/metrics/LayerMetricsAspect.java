@@ -0,0 +1,53 @@
+package com.example.bookexchange.shared.metrics;
+
+import com.example.bookexchange.shared.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Times every public use-case and gateway adapter method. Each call is tagged with its class,
+// method and outcome; failures also carry the exception type, so a NotFoundException spike
+// can be told apart from a ConflictException one.
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class LayerMetricsAspect {
+    static final String USE_CASE_TIMER = "usecase.calls";
+    static final String GATEWAY_TIMER = "gateway.calls";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(com.example.bookexchange.controllers.*UseCase) && execution(public * *(..))")
+    public Object timeUseCase(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(USE_CASE_TIMER, joinPoint);
+    }
+
+    @Around("within(com.example.bookexchange.clients.adapter.*GatewayAdapter) && execution(public * *(..))")
+    public Object timeGateway(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(GATEWAY_TIMER, joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e instanceof BusinessException ? "business_error" : "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
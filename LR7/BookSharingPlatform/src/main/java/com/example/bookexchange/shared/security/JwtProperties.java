@@ -12,4 +12,11 @@ import org.springframework.stereotype.Component;
 public class JwtProperties {
     private String secret;
     private long expirationMs;
+    private final Cache cache = new Cache();
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private long maximumSize = 10_000;
+    }
 }
@@ -0,0 +1,78 @@
+package com.example.bookexchange.shared.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class JwtTokenCache {
+    private final JwtUtil jwtUtil;
+    private final Cache<String, Claims> cache;
+
+    public JwtTokenCache(JwtUtil jwtUtil, JwtProperties jwtProperties, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getCache().getMaximumSize())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+    }
+
+    public Optional<Claims> resolve(String token) {
+        String key = digest(token);
+        Claims cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Claims> claims = jwtUtil.tryParseClaims(token);
+        claims.filter(c -> remainingNanos(c) > 0).ifPresent(c -> cache.put(key, c));
+        return claims;
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static long remainingNanos(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return 0;
+        }
+        return TimeUnit.MILLISECONDS.toNanos(expiration.getTime() - System.currentTimeMillis());
+    }
+
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+        @Override
+        public long expireAfterCreate(String key, Claims value, long currentTime) {
+            return Math.max(remainingNanos(value), 0);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims value, long currentTime, long currentDuration) {
+            return Math.max(remainingNanos(value), 0);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.example.bookexchange.shared.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
@@ -11,13 +11,21 @@ import java.time.Instant;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 public class JwtUtil {
 
     private final JwtProperties jwtProperties;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+
+    public JwtUtil(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+    }
 
     public String generateToken(UUID userId, String username, String email) {
         Instant now = Instant.now();
@@ -27,33 +35,27 @@ public class JwtUtil {
                 .claims(Map.of("username", username, "email", email))
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(exp))
-                .signWith(signingKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    public UUID extractUserId(String token) {
-        return UUID.fromString(parseClaims(token).getSubject());
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    public boolean isValid(String token) {
+    public Optional<Claims> tryParseClaims(String token) {
         try {
-            parseClaims(token);
-            return true;
+            return Optional.of(parseClaims(token));
         } catch (Exception ex) {
-            return false;
+            return Optional.empty();
         }
     }
 
-    private SecretKey signingKey() {
-        byte[] key = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(key);
+    public UUID extractUserId(String token) {
+        return UUID.fromString(parseClaims(token).getSubject());
+    }
+
+    public boolean isValid(String token) {
+        return tryParseClaims(token).isPresent();
     }
 }
@@ -0,0 +1,15 @@
+package com.example.bookexchange.shared.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 64;
+}
@@ -0,0 +1,54 @@
+-- book_movements becomes a monthly range-partitioned table. A partitioned table's primary key
+-- has to contain the partition key, so the key widens to (id, created_at).
+CREATE TABLE book_movements_partitioned (
+    id UUID NOT NULL,
+    exchange_id UUID NOT NULL REFERENCES exchanges(id) ON DELETE CASCADE,
+    inventory_id UUID NOT NULL REFERENCES inventory(id) ON DELETE CASCADE,
+    from_user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    to_user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    status VARCHAR(32) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- One partition per month from the oldest existing row up to three months ahead; the
+-- partition maintenance job keeps creating future months from here on.
+DO $$
+DECLARE
+    month_start TIMESTAMP := date_trunc('month', COALESCE((SELECT min(created_at) FROM book_movements), now()));
+    last_month TIMESTAMP := date_trunc('month', now()) + INTERVAL '3 months';
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE book_movements_p%s PARTITION OF book_movements_partitioned FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month_start, 'YYYY_MM'), month_start, month_start + INTERVAL '1 month');
+        month_start := month_start + INTERVAL '1 month';
+    END LOOP;
+END $$;
+
+-- Catches rows outside every monthly range so an insert never fails; expected to stay empty.
+CREATE TABLE book_movements_default PARTITION OF book_movements_partitioned DEFAULT;
+
+INSERT INTO book_movements_partitioned (id, exchange_id, inventory_id, from_user_id, to_user_id, status, created_at)
+SELECT id, exchange_id, inventory_id, from_user_id, to_user_id, status, created_at FROM book_movements;
+
+DROP TABLE book_movements;
+ALTER TABLE book_movements_partitioned RENAME TO book_movements;
+ALTER TABLE book_movements RENAME CONSTRAINT book_movements_partitioned_pkey TO book_movements_pkey;
+
+CREATE INDEX idx_movements_from_user_created ON book_movements(from_user_id, created_at DESC, id DESC);
+CREATE INDEX idx_movements_to_user_created ON book_movements(to_user_id, created_at DESC, id DESC);
+CREATE INDEX idx_movements_exchange ON book_movements(exchange_id);
+
+-- Movements of archived months. Only read for audits, so it keeps the primary key and a BRIN
+-- index on created_at, which stays a few pages in size however many rows it holds.
+CREATE TABLE book_movements_archive (
+    id UUID PRIMARY KEY,
+    exchange_id UUID NOT NULL,
+    inventory_id UUID NOT NULL,
+    from_user_id UUID NOT NULL,
+    to_user_id UUID NOT NULL,
+    status VARCHAR(32) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_movements_archive_created ON book_movements_archive USING BRIN (created_at);
@@ -0,0 +1,9 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_books_title_id ON books(title, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_inventory_user_id_id ON inventory(user_id, id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_inventory_user_id;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_exchanges_owner_created ON exchanges(owner_id, created_at DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_exchanges_requester_created ON exchanges(requester_id, created_at DESC, id DESC);
+DROP INDEX CONCURRENTLY IF EXISTS idx_exchanges_owner;
+DROP INDEX CONCURRENTLY IF EXISTS idx_exchanges_requester;
@@ -0,0 +1 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_inventory_book_available ON inventory(book_id, status) WHERE status = 'AVAILABLE';
@@ -0,0 +1,5 @@
+ALTER TABLE users ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN rating_count INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE books ADD COLUMN rating_sum BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE books ADD COLUMN rating_count INTEGER NOT NULL DEFAULT 0;
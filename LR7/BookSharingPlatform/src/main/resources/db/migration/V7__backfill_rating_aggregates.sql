@@ -0,0 +1,19 @@
+UPDATE users u
+SET rating_sum = r.total,
+    rating_count = r.cnt,
+    rating = ROUND(r.total::NUMERIC / r.cnt, 2)
+FROM (SELECT target_id, SUM(rating) AS total, COUNT(*) AS cnt
+      FROM reviews
+      WHERE target_type = 'USER'
+      GROUP BY target_id) r
+WHERE u.id = r.target_id;
+
+UPDATE books b
+SET rating_sum = r.total,
+    rating_count = r.cnt,
+    rating = ROUND(r.total::NUMERIC / r.cnt, 2)
+FROM (SELECT target_id, SUM(rating) AS total, COUNT(*) AS cnt
+      FROM reviews
+      WHERE target_type = 'BOOK'
+      GROUP BY target_id) r
+WHERE b.id = r.target_id;
@@ -0,0 +1,2 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_target_created ON reviews(target_type, target_id, created_at DESC, id DESC);
+DROP INDEX CONCURRENTLY IF EXISTS idx_reviews_target;
@@ -0,0 +1,4 @@
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movements_from_user_created ON book_movements(from_user_id, created_at DESC, id DESC);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_movements_to_user_created ON book_movements(to_user_id, created_at DESC, id DESC);
+DROP INDEX CONCURRENTLY IF EXISTS idx_movements_from_user;
+DROP INDEX CONCURRENTLY IF EXISTS idx_movements_to_user;
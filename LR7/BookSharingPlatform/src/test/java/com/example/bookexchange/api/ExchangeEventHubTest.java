@@ -0,0 +1,135 @@
+package com.example.bookexchange.api;
+
+import com.example.bookexchange.models.ExchangeRequest;
+import com.example.bookexchange.models.ExchangeStatus;
+import com.example.bookexchange.shared.config.ExchangeStreamProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExchangeEventHubTest {
+
+    private final ExchangeStreamProperties properties = new ExchangeStreamProperties();
+    private ExchangeEventHub hub;
+
+    @BeforeEach
+    void setUp() {
+        properties.setMaxConnectionsPerUser(2);
+        properties.setHeartbeatInterval(Duration.ofHours(1));
+        hub = new ExchangeEventHub(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.close();
+    }
+
+    @Test
+    void publish_pushesToEveryConnectionOfTheOwnerOnly() {
+        UUID ownerId = UUID.randomUUID();
+        RecordingEmitter phone = subscribe(ownerId);
+        RecordingEmitter tablet = subscribe(ownerId);
+        RecordingEmitter stranger = subscribe(UUID.randomUUID());
+
+        hub.publish(exchange(ownerId));
+
+        awaitEvents(phone, 1);
+        awaitEvents(tablet, 1);
+        assertEquals(0, stranger.events.size());
+    }
+
+    @Test
+    void publish_insideTransaction_waitsForCommit() {
+        UUID ownerId = UUID.randomUUID();
+        RecordingEmitter emitter = subscribe(ownerId);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            hub.publish(exchange(ownerId));
+            assertEquals(0, emitter.events.size());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        awaitEvents(emitter, 1);
+    }
+
+    @Test
+    void register_beyondConnectionLimit_closesOldestConnection() {
+        UUID ownerId = UUID.randomUUID();
+        subscribe(ownerId);
+        subscribe(ownerId);
+        subscribe(ownerId);
+
+        assertEquals(2, hub.subscriberCount(ownerId));
+    }
+
+    @Test
+    void publish_dropsConnectionThatFailsToSend() {
+        UUID ownerId = UUID.randomUUID();
+        RecordingEmitter broken = subscribe(ownerId);
+        broken.failing = true;
+
+        hub.publish(exchange(ownerId));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (hub.subscriberCount(ownerId) > 0) {
+            assertTrue(System.nanoTime() < deadline, "broken connection was not removed");
+            Thread.onSpinWait();
+        }
+    }
+
+    private RecordingEmitter subscribe(UUID userId) {
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.register(userId, emitter);
+        return emitter;
+    }
+
+    private void awaitEvents(RecordingEmitter emitter, int count) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (emitter.events.size() < count) {
+            assertTrue(System.nanoTime() < deadline, "event was not pushed");
+            Thread.onSpinWait();
+        }
+    }
+
+    private ExchangeRequest exchange(UUID ownerId) {
+        Instant now = Instant.now();
+        return ExchangeRequest.builder()
+                .id(UUID.randomUUID())
+                .requesterId(UUID.randomUUID())
+                .ownerId(ownerId)
+                .inventoryId(UUID.randomUUID())
+                .status(ExchangeStatus.REQUESTED)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<SseEventBuilder> events = new CopyOnWriteArrayList<>();
+        private volatile boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("client went away");
+            }
+            events.add(builder);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.bookexchange.api;
+
+import com.example.bookexchange.BookExchangeApplication;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the same burst of authenticated reads against the service twice: on Tomcat's platform
+// thread pool and under the virtual-threads profile. The virtual-thread run needs a Java 21
+// runtime: JAVA_HOME=<jdk21> mvn test -Pbenchmark,java21 -Dtest=RequestThreadingBenchmark
+class RequestThreadingBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.threading.concurrency", 500);
+    private static final int REQUESTS = Integer.getInteger("benchmark.threading.requests", 10_000);
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+    private static final Pattern TOKEN = Pattern.compile("\"accessToken\":\"([^\"]+)\"");
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newFixedThreadPool(16))
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @Test
+    void platformThreads_vsVirtualThreads() throws Exception {
+        Result platform = run("platform threads", "test");
+        System.out.println(platform);
+        if (Runtime.version().feature() < 21) {
+            System.out.println("virtual threads skipped: running on Java " + Runtime.version().feature());
+            return;
+        }
+        Result virtual = run("virtual threads", "test", "virtual-threads");
+        System.out.println(virtual);
+
+        assertTrue(virtual.ok() > 0);
+    }
+
+    private Result run(String mode, String... profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BookExchangeApplication.class)
+                .profiles(profiles)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:threading-" + profiles.length
+                                + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+                        "--logging.level.root=WARN")) {
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            String token = seed(base);
+            URI history = URI.create(base + "/exchanges/history?limit=20");
+            URI copies = URI.create(base + "/books/" + bookId(base, token) + "/available-copies?limit=20");
+            burst(token, history, copies, REQUESTS / 10);
+            return measure(mode, token, history, copies);
+        }
+    }
+
+    private Result measure(String mode, String token, URI history, URI copies) throws Exception {
+        ThreadSampler threads = new ThreadSampler();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(threads::sample, 0, 20, TimeUnit.MILLISECONDS);
+        long start = System.nanoTime();
+        Burst burst = burst(token, history, copies, REQUESTS);
+        long elapsed = System.nanoTime() - start;
+        sampler.shutdownNow();
+        List<Long> latencies = new ArrayList<>(burst.latencies());
+        Collections.sort(latencies);
+        return new Result(mode, REQUESTS * 1e9 / elapsed,
+                percentile(latencies, 0.50), percentile(latencies, 0.99),
+                burst.ok().get(), burst.rejected().get(), burst.failed().get(), threads.peak());
+    }
+
+    private Burst burst(String token, URI history, URI copies, int requests) throws Exception {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        Burst burst = new Burst(Collections.synchronizedList(new ArrayList<>(requests)),
+                new AtomicInteger(), new AtomicInteger(), new AtomicInteger());
+        List<CompletableFuture<?>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            inFlight.acquire();
+            HttpRequest request = HttpRequest.newBuilder(i % 2 == 0 ? history : copies)
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            long sentAt = System.nanoTime();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+                        burst.latencies().add(System.nanoTime() - sentAt);
+                        if (error != null) {
+                            burst.failed().incrementAndGet();
+                        } else if (response.statusCode() == 200) {
+                            burst.ok().incrementAndGet();
+                        } else if (response.statusCode() == 429) {
+                            burst.rejected().incrementAndGet();
+                        } else {
+                            burst.failed().incrementAndGet();
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        return burst;
+    }
+
+    private String seed(String base) throws Exception {
+        post(base + "/auth/register", null,
+                "{\"username\":\"load\",\"email\":\"load@example.com\",\"password\":\"secret123\"}");
+        String login = post(base + "/auth/login", null, "{\"email\":\"load@example.com\",\"password\":\"secret123\"}");
+        return group(TOKEN, login);
+    }
+
+    private String bookId(String base, String token) throws Exception {
+        String book = post(base + "/books", token, "{\"title\":\"Load\",\"author\":\"Test\",\"isbn\":\"load-1\"}");
+        String bookId = group(ID, book);
+        for (int i = 0; i < 20; i++) {
+            post(base + "/inventory", token, "{\"bookId\":\"" + bookId + "\",\"condition\":\"GOOD\"}");
+        }
+        return bookId;
+    }
+
+    private String post(String url, String token, String json) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    private static String group(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        assertTrue(matcher.find(), body);
+        return matcher.group(1);
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1)) / 1e6;
+    }
+
+    // Peak number of live platform threads serving requests; virtual threads never show up here.
+    private static final class ThreadSampler {
+        private volatile int peak;
+
+        void sample() {
+            int live = 0;
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (thread.getName().startsWith("http-nio-")) {
+                    live++;
+                }
+            }
+            peak = Math.max(peak, live);
+        }
+
+        int peak() {
+            return peak;
+        }
+    }
+
+    private record Burst(List<Long> latencies, AtomicInteger ok, AtomicInteger rejected, AtomicInteger failed) {
+    }
+
+    private record Result(String mode, double rps, double p50, double p99, int ok, int rejected, int failed,
+                          int peakThreads) {
+        @Override
+        public String toString() {
+            return String.format("%-16s concurrency=%d requests=%d rps=%.0f p50=%.1f ms p99=%.1f ms "
+                            + "ok=%d rejected(429)=%d failed=%d peak-platform-threads=%d",
+                    mode, CONCURRENCY, REQUESTS, rps, p50, p99, ok, rejected, failed, peakThreads);
+        }
+    }
+}
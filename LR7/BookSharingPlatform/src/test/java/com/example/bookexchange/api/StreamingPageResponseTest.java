@@ -0,0 +1,70 @@
+package com.example.bookexchange.api;
+
+import com.example.bookexchange.api.dto.BookResponse;
+import com.example.bookexchange.api.dto.PageResponse;
+import com.example.bookexchange.shared.api.ApiResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingPageResponseTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void streamedBody_hasTheSameEnvelopeAsAPagedResponse() throws Exception {
+        List<BookResponse> books = List.of(
+                new BookResponse(UUID.randomUUID(), "Refactoring", "Fowler", "111", new BigDecimal("4.50")),
+                new BookResponse(UUID.randomUUID(), "Clean Code", "Martin", null, BigDecimal.ZERO));
+
+        ResponseEntity<StreamingResponseBody> response =
+                StreamingPageResponse.<BookResponse>ok(objectMapper, sink -> books.forEach(sink));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        JsonNode streamed = objectMapper.readTree(out.toByteArray());
+        JsonNode paged = objectMapper.readTree(objectMapper.writeValueAsBytes(ApiResponse.ok(new PageResponse<>(books, null))));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(List.of("success", "message", "data", "timestamp"), fieldNames(streamed));
+        assertEquals(fieldNames(paged), fieldNames(streamed));
+        assertEquals(paged.get("data"), streamed.get("data"));
+        assertTrue(streamed.get("timestamp").isTextual());
+    }
+
+    @Test
+    void failurePartWay_leavesTheBodyUnterminated() throws Exception {
+        BookResponse book = new BookResponse(UUID.randomUUID(), "Refactoring", "Fowler", "111", BigDecimal.ONE);
+        StreamingResponseBody body = StreamingPageResponse.<BookResponse>ok(objectMapper, sink -> {
+            sink.accept(book);
+            throw new IllegalStateException("connection lost");
+        }).getBody();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(IllegalStateException.class, () -> body.writeTo(out));
+        assertTrue(out.toString().contains("Refactoring"));
+        assertThrows(JsonProcessingException.class, () -> objectMapper.readTree(out.toByteArray()));
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.models.InventoryItem;
+import com.example.bookexchange.models.InventoryStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Row count defaults to a size the in-memory database handles quickly; run with
+// -Dbenchmark.inventory.rows=10000000 for the full-size comparison.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(InventoryGatewayAdapter.class)
+class AvailableCopiesBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.inventory.rows", 200_000);
+    private static final int USERS = 10_000;
+    private static final int BOOKS = ROWS / 20;
+    private static final int LOOKUPS = 50;
+    private static final int BATCH = 5_000;
+
+    @Autowired
+    private InventoryGatewayAdapter inventoryGateway;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void availableCopiesOfOneBook() {
+        UUID[] users = seedUsers();
+        UUID[] books = seedInventory(users);
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_inventory_book_available ON inventory(book_id, status)");
+
+        long scanned = measure("findByStatus + filter", () -> {
+            UUID bookId = books[ThreadLocalRandom.current().nextInt(books.length)];
+            UUID caller = users[0];
+            return (long) inventoryGateway.findByStatus(InventoryStatus.AVAILABLE).stream()
+                    .filter(item -> item.getBookId().equals(bookId) && !item.getUserId().equals(caller))
+                    .sorted(Comparator.comparing(InventoryItem::getId))
+                    .limit(20)
+                    .toList()
+                    .size();
+        });
+        long indexed = measure("findAvailableByBookId", () -> {
+            UUID bookId = books[ThreadLocalRandom.current().nextInt(books.length)];
+            return (long) inventoryGateway.findAvailableByBookId(bookId, users[0], 20).size();
+        });
+
+        assertTrue(scanned > 0);
+        assertTrue(indexed > 0);
+    }
+
+    private long measure(String name, Supplier<Long> lookup) {
+        for (int i = 0; i < 3; i++) {
+            lookup.get();
+        }
+        long[] nanos = new long[LOOKUPS];
+        long found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            long began = System.nanoTime();
+            found += lookup.get();
+            nanos[i] = System.nanoTime() - began;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-24s rows=%d lookups=%d p50=%.2f ms p99=%.2f ms copies=%d%n",
+                name, ROWS, LOOKUPS, nanos[LOOKUPS / 2] / 1e6, nanos[LOOKUPS * 99 / 100] / 1e6, found);
+        return found;
+    }
+
+    private UUID[] seedUsers() {
+        UUID[] users = new UUID[USERS];
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < USERS; i++) {
+            users[i] = UUID.randomUUID();
+            batch.add(new Object[]{users[i], "bench-" + users[i], users[i] + "@bench", "hash", (i % 500) / 100.0});
+            if (batch.size() == BATCH) {
+                insertUsers(batch);
+            }
+        }
+        insertUsers(batch);
+        return users;
+    }
+
+    private void insertUsers(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password_hash, rating) VALUES (?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+
+    private UUID[] seedInventory(UUID[] users) {
+        UUID[] books = new UUID[BOOKS];
+        for (int i = 0; i < BOOKS; i++) {
+            books[i] = UUID.randomUUID();
+        }
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            String status = i % 4 == 0 ? InventoryStatus.BUSY.name() : InventoryStatus.AVAILABLE.name();
+            batch.add(new Object[]{UUID.randomUUID(), users[i % USERS], books[i % BOOKS], status, "GOOD"});
+            if (batch.size() == BATCH) {
+                insertInventory(batch);
+            }
+        }
+        insertInventory(batch);
+        return books;
+    }
+
+    private void insertInventory(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO inventory (id, user_id, book_id, status, condition_value) VALUES (?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.models.AvailableCopy;
+import com.example.bookexchange.models.InventoryItem;
+import com.example.bookexchange.models.InventoryStatus;
+import com.example.bookexchange.models.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({InventoryGatewayAdapter.class, UserGatewayAdapter.class})
+class AvailableCopiesQueryTest {
+
+    @Autowired
+    private InventoryGatewayAdapter inventoryGateway;
+    @Autowired
+    private UserGatewayAdapter userGateway;
+
+    @Test
+    void findAvailableByBookId_returnsOnlyAvailableCopiesOfTheBookBestRatedOwnerFirst() {
+        UUID bookId = UUID.randomUUID();
+        User average = user("3.10");
+        User best = user("4.90");
+        User busy = user("5.00");
+        User otherBook = user("4.00");
+        copy(average, bookId, InventoryStatus.AVAILABLE);
+        copy(best, bookId, InventoryStatus.AVAILABLE);
+        copy(busy, bookId, InventoryStatus.BUSY);
+        copy(otherBook, UUID.randomUUID(), InventoryStatus.AVAILABLE);
+
+        List<AvailableCopy> copies = inventoryGateway.findAvailableByBookId(bookId, null, 20);
+
+        assertEquals(List.of(best.getId(), average.getId()), copies.stream().map(AvailableCopy::getOwnerId).toList());
+        assertEquals(best.getUsername(), copies.get(0).getOwnerUsername());
+        assertEquals(0, new BigDecimal("4.90").compareTo(copies.get(0).getOwnerRating()));
+        assertEquals("GOOD", copies.get(0).getCondition());
+    }
+
+    @Test
+    void findAvailableByBookId_excludesCallerAndRespectsLimit() {
+        UUID bookId = UUID.randomUUID();
+        User caller = user("5.00");
+        copy(caller, bookId, InventoryStatus.AVAILABLE);
+        for (int i = 0; i < 5; i++) {
+            copy(user("4.0" + i), bookId, InventoryStatus.AVAILABLE);
+        }
+
+        List<AvailableCopy> copies = inventoryGateway.findAvailableByBookId(bookId, caller.getId(), 3);
+
+        assertEquals(3, copies.size());
+        assertTrue(copies.stream().noneMatch(copy -> copy.getOwnerId().equals(caller.getId())));
+        assertEquals(0, new BigDecimal("4.04").compareTo(copies.get(0).getOwnerRating()));
+    }
+
+    private User user(String rating) {
+        UUID id = UUID.randomUUID();
+        return userGateway.insert(User.builder()
+                .id(id)
+                .username("user-" + id)
+                .email(id + "@example.com")
+                .passwordHash("hash")
+                .rating(new BigDecimal(rating))
+                .build());
+    }
+
+    private void copy(User owner, UUID bookId, InventoryStatus status) {
+        inventoryGateway.insert(InventoryItem.builder()
+                .id(UUID.randomUUID())
+                .userId(owner.getId())
+                .bookId(bookId)
+                .status(status)
+                .condition("GOOD")
+                .build());
+    }
+}
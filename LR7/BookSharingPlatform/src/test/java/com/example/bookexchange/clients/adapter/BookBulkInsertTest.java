@@ -0,0 +1,76 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.shared.config.CatalogProperties;
+import com.example.bookexchange.shared.exception.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookGatewayAdapter.class, CatalogProperties.class})
+class BookBulkInsertTest {
+
+    @Autowired
+    private BookGatewayAdapter bookGateway;
+
+    @Test
+    void insertAll_writesWholeBatch() {
+        List<Book> books = List.of(book("bulk-1"), book("bulk-2"), book(null));
+
+        assertEquals(books, bookGateway.insertAll(books));
+        assertEquals(Set.of("bulk-1", "bulk-2"), bookGateway.findExistingIsbns(List.of("bulk-1", "bulk-2", "bulk-3")));
+        assertTrue(bookGateway.findById(books.get(2).getId()).isPresent());
+    }
+
+    @Test
+    void insertAll_skipsIsbnsClaimedSinceLookupAndKeepsTheRest() {
+        bookGateway.insert(book("race-1"));
+        Book late = book("race-1");
+        Book fresh = book("race-2");
+
+        List<Book> inserted = bookGateway.insertAll(List.of(late, fresh));
+
+        assertEquals(List.of(fresh), inserted);
+        assertTrue(bookGateway.findById(late.getId()).isEmpty());
+        assertTrue(bookGateway.findById(fresh.getId()).isPresent());
+    }
+
+    @Test
+    void insertAll_conflictThatIsNotAnIsbnRace_isReportedAsConflict() {
+        Book existing = bookGateway.insert(book("clash-1"));
+        Book sameId = Book.builder()
+                .id(existing.getId())
+                .title("Bulk")
+                .author("Author")
+                .isbn("clash-2")
+                .rating(BigDecimal.ZERO)
+                .build();
+
+        assertThrows(ConflictException.class, () -> bookGateway.insertAll(List.of(sameId, book("clash-3"))));
+        assertTrue(bookGateway.findExistingIsbns(List.of("clash-2", "clash-3")).isEmpty());
+    }
+
+    private Book book(String isbn) {
+        return Book.builder()
+                .id(UUID.randomUUID())
+                .title("Bulk")
+                .author("Author")
+                .isbn(isbn)
+                .rating(BigDecimal.ZERO)
+                .build();
+    }
+}
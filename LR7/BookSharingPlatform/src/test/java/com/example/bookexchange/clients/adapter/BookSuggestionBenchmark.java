@@ -0,0 +1,62 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.models.Book;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookSuggestionBenchmark {
+
+    private static final int BOOKS = 1_000_000;
+    private static final int WARMUP = 50_000;
+    private static final int QUERIES = 200_000;
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz";
+
+    @Test
+    void suggest_p99_isBelowOneMillisecond() {
+        Random random = new Random(42);
+        InMemoryBookSuggestionIndex index = new InMemoryBookSuggestionIndex(null);
+        for (int i = 0; i < BOOKS; i++) {
+            index.add(Book.builder()
+                    .id(UUID.randomUUID())
+                    .title(word(random, 4, 10) + " " + word(random, 3, 8))
+                    .author(word(random, 5, 9) + " " + word(random, 5, 12))
+                    .rating(BigDecimal.ZERO)
+                    .build());
+        }
+        String[] prefixes = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            prefixes[i] = word(random, 1, 4);
+        }
+
+        for (int i = 0; i < WARMUP; i++) {
+            index.suggest(prefixes[i % QUERIES], 10);
+        }
+        long[] latencies = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            long start = System.nanoTime();
+            index.suggest(prefixes[i], 10);
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        long p50 = latencies[QUERIES / 2];
+        long p99 = latencies[(int) (QUERIES * 0.99)];
+        System.out.printf("entries=%d p50=%d ns p99=%d ns max=%d ns%n", index.size(), p50, p99, latencies[QUERIES - 1]);
+        assertTrue(p99 < 1_000_000);
+    }
+
+    private String word(Random random, int min, int max) {
+        int length = min + random.nextInt(max - min + 1);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+}
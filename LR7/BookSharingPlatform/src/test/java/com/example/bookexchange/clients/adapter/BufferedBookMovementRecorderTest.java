@@ -0,0 +1,269 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.api.dto.BookMovementResponse;
+import com.example.bookexchange.controllers.port.BookMovementGateway;
+import com.example.bookexchange.models.BookMovement;
+import com.example.bookexchange.models.CursorPage;
+import com.example.bookexchange.models.ExchangeStatus;
+import com.example.bookexchange.models.PageQuery;
+import com.example.bookexchange.shared.config.MovementWriterProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class BufferedBookMovementRecorderTest {
+
+    @TempDir
+    Path journalDir;
+
+    private final FakeGateway gateway = new FakeGateway();
+    private final MovementWriterProperties properties = new MovementWriterProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private BufferedBookMovementRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        properties.setJournalDir(journalDir.toString());
+        properties.setBatchSize(100);
+        properties.setFlushInterval(Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (recorder != null && recorder.isRunning()) {
+            recorder.stop();
+        }
+    }
+
+    @Test
+    void flushesWhenBatchSizeIsReached() {
+        properties.setBatchSize(3);
+        start();
+
+        for (int i = 0; i < 3; i++) {
+            recorder.record(movement());
+        }
+
+        awaitTrue(() -> gateway.stored.size() == 3);
+    }
+
+    @Test
+    void flushesOnIntervalBelowBatchSize() {
+        properties.setFlushInterval(Duration.ofMillis(50));
+        start();
+
+        recorder.record(movement());
+
+        awaitTrue(() -> gateway.stored.size() == 1);
+        assertEquals(1.0, meterRegistry.get("movements.writer.flushed").counter().count());
+    }
+
+    @Test
+    void stop_writesEverythingBufferedAndLeavesNoJournal() throws Exception {
+        start();
+        for (int i = 0; i < 5; i++) {
+            recorder.record(movement());
+        }
+        assertTrue(gateway.stored.isEmpty());
+
+        recorder.stop();
+
+        assertEquals(5, gateway.stored.size());
+        assertEquals(0, segmentCount());
+    }
+
+    @Test
+    void failedBatchIsKeptInJournalAndRetried() throws Exception {
+        start();
+        gateway.failing = true;
+        recorder.record(movement());
+        recorder.flushOnce();
+
+        assertTrue(gateway.stored.isEmpty());
+        assertEquals(1.0, meterRegistry.get("movements.writer.pending").gauge().value());
+        assertEquals(2, segmentCount(), "failed segment is kept next to the active one");
+
+        gateway.failing = false;
+        recorder.flushOnce();
+
+        assertEquals(1, gateway.stored.size());
+        assertEquals(0.0, meterRegistry.get("movements.writer.pending").gauge().value());
+        assertEquals(0.0, meterRegistry.get("movements.writer.lag").gauge().value());
+    }
+
+    @Test
+    void partlyWrittenSegment_retriesOnlyTheRowsNotYetStored() {
+        start();
+        List<BookMovement> movements = List.of(movement(), movement(), movement());
+        movements.forEach(recorder::record);
+        properties.setBatchSize(2);
+        gateway.rejected.add(movements.get(2).getId());
+        recorder.flushOnce();
+
+        assertEquals(2, gateway.stored.size(), "the first batch committed before the second failed");
+        assertEquals(3.0, meterRegistry.get("movements.writer.pending").gauge().value());
+
+        gateway.rejected.clear();
+        recorder.flushOnce();
+
+        assertEquals(movements.stream().map(BookMovement::getId).collect(Collectors.toSet()), gateway.stored.keySet());
+        assertEquals(0.0, meterRegistry.get("movements.writer.pending").gauge().value());
+    }
+
+    @Test
+    void fullBuffer_fallsBackToDirectInsertAfterAppendTimeout() {
+        properties.setBufferCapacity(2);
+        properties.setAppendTimeout(Duration.ofMillis(50));
+        gateway.failBatchesOf = 2;
+        start();
+        recorder.record(movement());
+        recorder.record(movement());
+
+        BookMovement overflow = movement();
+        recorder.record(overflow);
+
+        assertEquals(Set.of(overflow.getId()), gateway.stored.keySet());
+        assertEquals(2.0, meterRegistry.get("movements.writer.pending").gauge().value());
+        assertEquals(1.0, meterRegistry.get("movements.writer.overflow").counter().count());
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void start_replaysJournalLeftByPreviousRunSkippingStoredRows() throws Exception {
+        BookMovement alreadyStored = movement();
+        BookMovement lost = movement();
+        gateway.stored.put(alreadyStored.getId(), alreadyStored);
+        try (MovementJournal previous = new MovementJournal(journalDir, false)) {
+            previous.open();
+            previous.append(alreadyStored);
+            previous.append(lost);
+        }
+
+        start();
+
+        assertEquals(Set.of(alreadyStored.getId(), lost.getId()), gateway.stored.keySet());
+        assertEquals(1, gateway.insertCalls);
+        assertEquals(1, segmentCount(), "only the new active segment remains");
+    }
+
+    @Test
+    void record_insideTransaction_waitsForCommit() {
+        start();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            recorder.record(movement());
+            assertEquals(0.0, meterRegistry.get("movements.writer.pending").gauge().value());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1.0, meterRegistry.get("movements.writer.pending").gauge().value());
+    }
+
+    private void start() {
+        recorder = new BufferedBookMovementRecorder(gateway, properties, transactionManager, meterRegistry);
+        recorder.start();
+    }
+
+    private long segmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(journalDir)) {
+            return files.filter(p -> Files.isRegularFile(p)).count();
+        }
+    }
+
+    private void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.onSpinWait();
+        }
+    }
+
+    private BookMovement movement() {
+        return BookMovement.builder()
+                .id(UUID.randomUUID())
+                .exchangeId(UUID.randomUUID())
+                .inventoryId(UUID.randomUUID())
+                .fromUserId(UUID.randomUUID())
+                .toUserId(UUID.randomUUID())
+                .status(ExchangeStatus.REQUESTED)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static final class FakeGateway implements BookMovementGateway {
+        private final Map<UUID, BookMovement> stored = new ConcurrentHashMap<>();
+        private final Set<UUID> rejected = ConcurrentHashMap.newKeySet();
+        private volatile boolean failing;
+        private volatile int failBatchesOf = Integer.MAX_VALUE;
+        private volatile int insertCalls;
+
+        @Override
+        public BookMovement save(BookMovement movement) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BookMovement insert(BookMovement movement) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void insertAll(List<BookMovement> movements) {
+            if (failing || movements.size() >= failBatchesOf) {
+                throw new IllegalStateException("database unavailable");
+            }
+            if (movements.stream().anyMatch(m -> stored.containsKey(m.getId()) || rejected.contains(m.getId()))) {
+                throw new IllegalStateException("duplicate key");
+            }
+            insertCalls++;
+            movements.forEach(m -> stored.put(m.getId(), m));
+        }
+
+        @Override
+        public Set<UUID> findExistingIds(Collection<UUID> ids) {
+            return ids.stream().filter(stored::containsKey).collect(Collectors.toSet());
+        }
+
+        @Override
+        public CursorPage<BookMovementResponse> findByUserId(UUID userId, PageQuery page) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void forEachByUserId(UUID userId, Consumer<? super BookMovementResponse> sink) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.shared.config.CatalogProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingBookGatewayTest {
+
+    @Mock
+    private BookGatewayAdapter delegate;
+
+    private MeterRegistry meterRegistry;
+    private CachingBookGateway gateway;
+
+    private final Book book = Book.builder()
+            .id(UUID.randomUUID())
+            .title("Clean Code")
+            .author("Robert Martin")
+            .isbn("9780132350884")
+            .rating(BigDecimal.ZERO)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        gateway = new CachingBookGateway(delegate, new CatalogProperties(), meterRegistry);
+    }
+
+    @Test
+    void findById_servesRepeatedReadsFromCache() {
+        when(delegate.findById(book.getId())).thenReturn(Optional.of(book));
+
+        gateway.findById(book.getId());
+        Optional<Book> second = gateway.findById(book.getId());
+
+        assertEquals(Optional.of(book), second);
+        verify(delegate, times(1)).findById(book.getId());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tags("cache", "catalog.books-by-id", "result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void findByIsbn_reusesEntryLoadedById() {
+        when(delegate.findById(book.getId())).thenReturn(Optional.of(book));
+
+        gateway.findById(book.getId());
+
+        assertEquals(Optional.of(book), gateway.findByIsbn(book.getIsbn()));
+    }
+
+    @Test
+    void save_evictsCachedBookSoRatingChangeIsVisible() {
+        Book rated = book.withRating(new BigDecimal("4.50"));
+        when(delegate.findById(book.getId())).thenReturn(Optional.of(book), Optional.of(rated));
+        when(delegate.save(rated)).thenReturn(rated);
+
+        gateway.findById(book.getId());
+        gateway.save(rated);
+
+        assertEquals(new BigDecimal("4.50"), gateway.findById(book.getId()).orElseThrow().getRating());
+        verify(delegate, times(2)).findById(book.getId());
+    }
+
+    @Test
+    void findById_doesNotCacheMisses() {
+        when(delegate.findById(book.getId())).thenReturn(Optional.empty(), Optional.of(book));
+
+        assertTrue(gateway.findById(book.getId()).isEmpty());
+        assertEquals(Optional.of(book), gateway.findById(book.getId()));
+    }
+}
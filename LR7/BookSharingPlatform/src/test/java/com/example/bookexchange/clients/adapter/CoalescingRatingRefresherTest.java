@@ -0,0 +1,187 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.controllers.port.BookGateway;
+import com.example.bookexchange.controllers.port.UserGateway;
+import com.example.bookexchange.models.RatingDelta;
+import com.example.bookexchange.models.Review;
+import com.example.bookexchange.shared.config.RatingPipelineProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class CoalescingRatingRefresherTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final UserGateway userGateway = mock(UserGateway.class);
+    private final BookGateway bookGateway = mock(BookGateway.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final RatingPipelineProperties properties = new RatingPipelineProperties();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CoalescingRatingRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        // Long enough that the background worker never ticks; tests drive flush() directly.
+        properties.setWindow(Duration.ofHours(1));
+        properties.setMaxStaleness(Duration.ofHours(2));
+        refresher = new CoalescingRatingRefresher(userGateway, bookGateway, properties, transactionManager, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (refresher.isRunning()) {
+            refresher.stop();
+        }
+    }
+
+    @Test
+    void burstOfReviewsOnOneBook_isWrittenOnceAfterTheWindow() {
+        refresher.start();
+        UUID bookId = UUID.randomUUID();
+        for (int i = 0; i < 25; i++) {
+            refresher.addRating(Review.TargetType.BOOK, bookId, i % 5 + 1);
+        }
+
+        refresher.flush(System.nanoTime());
+        verifyNoInteractions(bookGateway);
+
+        refresher.flush(System.nanoTime() + 2 * 3600 * SECOND);
+        verify(bookGateway).addRatings(List.of(delta(bookId, 75, 25)));
+        assertEquals(25.0, meterRegistry.get("ratings.pipeline.coalescing.ratio").gauge().value());
+        assertEquals(0.0, meterRegistry.get("ratings.pipeline.pending").gauge().value());
+    }
+
+    @Test
+    void targetKeptBusyPastMaxStaleness_isWrittenAnyway() {
+        properties.setMaxStaleness(Duration.ofSeconds(30));
+        refresher = new CoalescingRatingRefresher(userGateway, bookGateway, properties, transactionManager, new SimpleMeterRegistry());
+        UUID userId = UUID.randomUUID();
+        long start = System.nanoTime();
+        refresher.start();
+        refresher.addRating(Review.TargetType.USER, userId, 4);
+        refresher.flush(start + 5 * SECOND);
+        verifyNoInteractions(userGateway);
+
+        // Still inside the one-hour quiet window, but past the staleness bound.
+        refresher.flush(start + 31 * SECOND);
+        verify(userGateway).addRatings(List.of(delta(userId, 4, 1)));
+    }
+
+    @Test
+    void failedWrite_isRequeuedAndRetried() {
+        refresher.start();
+        UUID bookId = UUID.randomUUID();
+        refresher.addRating(Review.TargetType.BOOK, bookId, 3);
+        doThrow(new IllegalStateException("database down")).doNothing().when(bookGateway).addRatings(anyList());
+
+        long later = System.nanoTime() + 2 * 3600 * SECOND;
+        refresher.flush(later);
+        assertEquals(1.0, meterRegistry.get("ratings.pipeline.pending").gauge().value());
+        // A review arriving between the failure and the retry is folded into the same delta.
+        refresher.addRating(Review.TargetType.BOOK, bookId, 5);
+        refresher.flush(later + 2 * 3600 * SECOND);
+
+        verify(bookGateway).addRatings(List.of(delta(bookId, 8, 2)));
+        assertEquals(1.0, meterRegistry.get("ratings.pipeline.failures").counter().count());
+        assertEquals(0.0, meterRegistry.get("ratings.pipeline.pending").gauge().value());
+    }
+
+    @Test
+    void addRating_insideTransaction_waitsForCommit() {
+        refresher.start();
+        UUID userId = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            refresher.addRating(Review.TargetType.USER, userId, 5);
+            assertEquals(0.0, meterRegistry.get("ratings.pipeline.pending").gauge().value());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1.0, meterRegistry.get("ratings.pipeline.pending").gauge().value());
+    }
+
+    @Test
+    void addRating_staysPendingFromBeforeCommitUntilItsDeltaIsWritten() {
+        refresher.start();
+        UUID committed = UUID.randomUUID();
+        UUID rolledBack = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            refresher.addRating(Review.TargetType.BOOK, committed, 5);
+            refresher.addRating(Review.TargetType.BOOK, rolledBack, 1);
+            assertTrue(refresher.isPending(Review.TargetType.BOOK, committed));
+            assertTrue(refresher.isPending(Review.TargetType.BOOK, rolledBack));
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(refresher.isPending(Review.TargetType.BOOK, committed));
+        assertFalse(refresher.isPending(Review.TargetType.BOOK, rolledBack));
+        refresher.flush(System.nanoTime() + 2 * 3600 * SECOND);
+        assertFalse(refresher.isPending(Review.TargetType.BOOK, committed));
+    }
+
+    @Test
+    void failedDirectWrite_isKeptForTheFlushLoop() {
+        UUID userId = UUID.randomUUID();
+        doThrow(new IllegalStateException("database down")).doNothing().when(userGateway).addRatings(anyList());
+
+        refresher.addRating(Review.TargetType.USER, userId, 3);
+
+        assertEquals(1.0, meterRegistry.get("ratings.pipeline.pending").gauge().value());
+        assertTrue(refresher.isPending(Review.TargetType.USER, userId));
+        refresher.start();
+        refresher.flush(System.nanoTime() + 2 * 3600 * SECOND);
+        verify(userGateway, times(2)).addRatings(List.of(delta(userId, 3, 1)));
+        assertFalse(refresher.isPending(Review.TargetType.USER, userId));
+    }
+
+    @Test
+    void stop_writesEverythingStillPending() {
+        refresher.start();
+        UUID userId = UUID.randomUUID();
+        refresher.addRating(Review.TargetType.USER, userId, 2);
+
+        refresher.stop();
+
+        verify(userGateway).addRatings(List.of(delta(userId, 2, 1)));
+        verify(bookGateway, never()).addRatings(anyList());
+    }
+
+    private static RatingDelta delta(UUID targetId, long ratingSum, int ratingCount) {
+        return RatingDelta.builder()
+                .targetId(targetId)
+                .ratingSum(ratingSum)
+                .ratingCount(ratingCount)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.controllers.ExchangeUseCase;
+import com.example.bookexchange.controllers.port.ExchangeEventPublisher;
+import com.example.bookexchange.controllers.port.InventoryGateway;
+import com.example.bookexchange.models.ExchangeRequest;
+import com.example.bookexchange.models.ExchangeStatus;
+import com.example.bookexchange.models.InventoryItem;
+import com.example.bookexchange.models.InventoryStatus;
+import com.example.bookexchange.models.PageQuery;
+import com.example.bookexchange.shared.exception.ConflictException;
+import com.example.bookexchange.shared.config.MovementWriterProperties;
+import com.example.bookexchange.shared.id.UuidV7Generator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+        InventoryGatewayAdapter.class,
+        ExchangeGatewayAdapter.class,
+        BookMovementGatewayAdapter.class,
+        BufferedBookMovementRecorder.class,
+        MovementWriterProperties.class,
+        SimpleMeterRegistry.class,
+        ExchangeUseCase.class,
+        UuidV7Generator.class
+})
+class ExchangeReservationRaceTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private ExchangeUseCase exchangeUseCase;
+    @Autowired
+    private InventoryGateway inventoryGateway;
+    @MockBean
+    private ExchangeEventPublisher exchangeEventPublisher;
+
+    @Test
+    void requestExchange_concurrentRequesters_reserveItemExactlyOnce() throws Exception {
+        UUID ownerId = UUID.randomUUID();
+        InventoryItem item = newAvailableItem(ownerId);
+
+        assertEquals(1, race(() -> exchangeUseCase.requestExchange(UUID.randomUUID(), item.getId())));
+
+        assertEquals(InventoryStatus.BUSY, inventoryGateway.findById(item.getId()).orElseThrow().getStatus());
+        assertEquals(1, exchangeUseCase.getIncoming(ownerId, PageQuery.first(THREADS)).getItems().size());
+    }
+
+    @Test
+    void updateStatus_concurrentDeclines_applyOnceAndReleaseInventory() throws Exception {
+        InventoryItem item = newAvailableItem(UUID.randomUUID());
+        ExchangeRequest exchange = exchangeUseCase.requestExchange(UUID.randomUUID(), item.getId());
+
+        assertEquals(1, race(() -> exchangeUseCase.updateStatus(exchange.getId(), ExchangeStatus.DECLINED)));
+
+        assertEquals(ExchangeStatus.DECLINED, exchangeUseCase.getById(exchange.getId()).getStatus());
+        assertEquals(InventoryStatus.AVAILABLE, inventoryGateway.findById(item.getId()).orElseThrow().getStatus());
+        assertThrows(ConflictException.class,
+                () -> exchangeUseCase.updateStatus(exchange.getId(), ExchangeStatus.APPROVED));
+    }
+
+    private int race(Runnable action) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        action.run();
+                        return true;
+                    } catch (ConflictException ex) {
+                        return false;
+                    }
+                }));
+            }
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                winners += result.get() ? 1 : 0;
+            }
+            return winners;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private InventoryItem newAvailableItem(UUID ownerId) {
+        return inventoryGateway.insert(InventoryItem.builder()
+                .id(UUID.randomUUID())
+                .userId(ownerId)
+                .bookId(UUID.randomUUID())
+                .status(InventoryStatus.AVAILABLE)
+                .condition("GOOD")
+                .build());
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.clients.entity.BookEntity;
+import com.example.bookexchange.clients.spring.BookJpaRepository;
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.BookSuggestion;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryBookSuggestionIndexTest {
+
+    @Mock
+    private BookJpaRepository repository;
+
+    @InjectMocks
+    private InMemoryBookSuggestionIndex index;
+
+    @Test
+    void suggest_matchesNormalizedPrefixOfTitlesAndAuthors() {
+        index.add(book("Clean Code", "Robert Martin"));
+        index.add(book("Clean Architecture", "Robert Martin"));
+        index.add(book("Crime and Punishment", "Fyodor Dostoevsky"));
+        index.add(book("Les Misérables", "Victor Hugo"));
+
+        assertEquals(List.of("Clean Architecture", "Clean Code"), texts(index.suggest("  CLEAN ", 10)));
+        assertEquals(List.of("Robert Martin"), texts(index.suggest("rob", 10)));
+        assertEquals(List.of("Les Misérables"), texts(index.suggest("les mise", 10)));
+        assertEquals(List.of("Clean Architecture", "Clean Code", "Crime and Punishment"), texts(index.suggest("c", 3)));
+        assertEquals(List.of("Clean Architecture"), texts(index.suggest("c", 1)));
+        assertTrue(index.suggest(" ", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_reportsFieldAndRepresentativeBook() {
+        Book book = book("Refactoring", "Martin Fowler");
+        index.add(book);
+        index.add(book("Refactoring", "Someone Else"));
+
+        List<BookSuggestion> suggestions = index.suggest("refactoring", 10);
+
+        assertEquals(1, suggestions.size());
+        assertEquals(BookSuggestion.Field.TITLE, suggestions.get(0).getField());
+        assertEquals(book.getId(), suggestions.get(0).getBookId());
+    }
+
+    @Test
+    void load_readsCatalogInKeysetBatches() {
+        BookEntity first = entity("Anna Karenina", "Leo Tolstoy");
+        List<BookEntity> fullBatch = Collections.nCopies(5_000, first);
+        BookEntity last = entity("War and Peace", "Leo Tolstoy");
+        when(repository.search(isNull(), isNull(), isNull(), isNull(), isNull(), any(Limit.class))).thenReturn(fullBatch);
+        when(repository.search(isNull(), isNull(), isNull(), any(String.class), any(UUID.class), any(Limit.class)))
+                .thenReturn(List.of(last));
+
+        index.load();
+
+        assertEquals(3, index.size());
+        assertEquals(List.of("War and Peace"), texts(index.suggest("war", 10)));
+    }
+
+    private List<String> texts(List<BookSuggestion> suggestions) {
+        return suggestions.stream().map(BookSuggestion::getText).toList();
+    }
+
+    private Book book(String title, String author) {
+        return Book.builder().id(UUID.randomUUID()).title(title).author(author).rating(BigDecimal.ZERO).build();
+    }
+
+    private BookEntity entity(String title, String author) {
+        BookEntity entity = new BookEntity();
+        entity.setId(UUID.randomUUID());
+        entity.setTitle(title);
+        entity.setAuthor(author);
+        return entity;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.controllers.AuthUseCase;
+import com.example.bookexchange.controllers.BookUseCase;
+import com.example.bookexchange.controllers.InventoryUseCase;
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.User;
+import com.example.bookexchange.shared.config.CatalogProperties;
+import com.example.bookexchange.shared.id.UuidV7Generator;
+import com.example.bookexchange.shared.security.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+        UserGatewayAdapter.class,
+        BookGatewayAdapter.class,
+        InventoryGatewayAdapter.class,
+        InMemoryBookSuggestionIndex.class,
+        AuthUseCase.class,
+        BookUseCase.class,
+        InventoryUseCase.class,
+        UuidV7Generator.class,
+        CatalogProperties.class
+})
+class InsertStatementCountTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private AuthUseCase authUseCase;
+    @Autowired
+    private BookUseCase bookUseCase;
+    @Autowired
+    private InventoryUseCase inventoryUseCase;
+
+    @MockBean
+    private PasswordEncoder passwordEncoder;
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        when(passwordEncoder.encode(any())).thenReturn("hashed");
+    }
+
+    @Test
+    void register_issuesSingleInsert() {
+        statistics.clear();
+
+        authUseCase.register("single-insert", "single-insert@example.com", "secret123");
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void addBook_withoutIsbn_issuesSingleInsert() {
+        statistics.clear();
+
+        bookUseCase.addBook("Refactoring", "Martin Fowler", null);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void addBook_withIsbn_issuesLookupAndInsert() {
+        statistics.clear();
+
+        bookUseCase.addBook("Clean Code", "Robert Martin", "9780132350884");
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+
+    @Test
+    void addToInventory_issuesLookupsAndInsertWithoutMergeSelect() {
+        User owner = authUseCase.register("inventory-owner", "inventory-owner@example.com", "secret123");
+        Book book = bookUseCase.addBook("Domain-Driven Design", "Eric Evans", null);
+        statistics.clear();
+
+        inventoryUseCase.addToInventory(owner.getId(), book.getId(), "GOOD");
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.api.dto.BookMovementResponse;
+import com.example.bookexchange.api.dto.ExchangeResponse;
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.BookMovement;
+import com.example.bookexchange.models.CursorPage;
+import com.example.bookexchange.models.ExchangeRequest;
+import com.example.bookexchange.models.ExchangeStatus;
+import com.example.bookexchange.models.PageQuery;
+import com.example.bookexchange.shared.config.CatalogProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookGatewayAdapter.class, ExchangeGatewayAdapter.class, BookMovementGatewayAdapter.class, CatalogProperties.class})
+public class KeysetPaginationTest {
+
+    @Autowired
+    private BookGatewayAdapter bookGateway;
+    @Autowired
+    private ExchangeGatewayAdapter exchangeGateway;
+    @Autowired
+    private BookMovementGatewayAdapter movementGateway;
+    @Autowired
+    private CatalogProperties catalogProperties;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        catalogProperties.getSearch().setTrigramEnabled(false);
+    }
+
+    @Test
+    void incomingExchanges_arePagedNewestFirstWithoutGapsOrDuplicates() {
+        UUID ownerId = UUID.randomUUID();
+        Instant base = Instant.parse("2026-01-01T00:00:00Z");
+        List<ExchangeRequest> created = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Instant at = base.plusSeconds(i / 3);
+            created.add(exchangeGateway.insert(ExchangeRequest.builder()
+                    .id(UUID.randomUUID())
+                    .requesterId(UUID.randomUUID())
+                    .ownerId(ownerId)
+                    .inventoryId(UUID.randomUUID())
+                    .status(ExchangeStatus.REQUESTED)
+                    .createdAt(at)
+                    .updatedAt(at)
+                    .build()));
+        }
+
+        List<ExchangeResponse> seen = readAll(page -> exchangeGateway.findByOwnerId(ownerId, page), 10, 3);
+
+        assertEquals(25, seen.stream().map(ExchangeResponse::id).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).createdAt().isAfter(seen.get(i - 1).createdAt()));
+        }
+    }
+
+    @Test
+    void movementHistory_mergesSentAndReceivedNewestFirstAcrossPages() {
+        UUID userId = UUID.randomUUID();
+        Instant base = Instant.parse("2026-02-01T00:00:00Z");
+        List<BookMovement> movements = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            boolean sent = i % 3 != 0;
+            movements.add(BookMovement.builder()
+                    .id(UUID.randomUUID())
+                    .exchangeId(UUID.randomUUID())
+                    .inventoryId(UUID.randomUUID())
+                    .fromUserId(sent ? userId : UUID.randomUUID())
+                    .toUserId(sent ? UUID.randomUUID() : userId)
+                    .status(ExchangeStatus.APPROVED)
+                    .createdAt(base.plusSeconds(i / 4))
+                    .build());
+        }
+        movements.add(movements.get(0).withId(UUID.randomUUID()).withFromUserId(UUID.randomUUID()).withToUserId(UUID.randomUUID()));
+        movementGateway.insertAll(movements);
+
+        List<BookMovementResponse> seen = readAll(page -> movementGateway.findByUserId(userId, page), 5, 5);
+
+        assertEquals(23, seen.stream().map(BookMovementResponse::id).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).createdAt().isAfter(seen.get(i - 1).createdAt()));
+        }
+    }
+
+    @Test
+    void movementExport_streamsTheWholeHistoryInPageOrder() {
+        UUID userId = UUID.randomUUID();
+        Instant base = Instant.parse("2026-03-01T00:00:00Z");
+        List<BookMovement> movements = new ArrayList<>();
+        for (int i = 0; i < 17; i++) {
+            boolean sent = i % 3 != 0;
+            movements.add(BookMovement.builder()
+                    .id(UUID.randomUUID())
+                    .exchangeId(UUID.randomUUID())
+                    .inventoryId(UUID.randomUUID())
+                    .fromUserId(sent ? userId : UUID.randomUUID())
+                    .toUserId(sent ? UUID.randomUUID() : userId)
+                    .status(ExchangeStatus.APPROVED)
+                    .createdAt(base.plusSeconds(i / 4))
+                    .build());
+        }
+        movementGateway.insertAll(movements);
+
+        List<BookMovementResponse> exported = new ArrayList<>();
+        movementGateway.forEachByUserId(userId, exported::add);
+
+        assertEquals(readAll(page -> movementGateway.findByUserId(userId, page), 5, 4), exported);
+    }
+
+    @Test
+    void movementHistory_widensToOlderMonthsUntilThePageIsFull() {
+        UUID userId = UUID.randomUUID();
+        Instant now = Instant.now();
+        List<BookMovement> movements = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            boolean sent = i % 2 == 0;
+            movements.add(BookMovement.builder()
+                    .id(UUID.randomUUID())
+                    .exchangeId(UUID.randomUUID())
+                    .inventoryId(UUID.randomUUID())
+                    .fromUserId(sent ? userId : UUID.randomUUID())
+                    .toUserId(sent ? UUID.randomUUID() : userId)
+                    .status(ExchangeStatus.APPROVED)
+                    .createdAt(now.minus(Duration.ofDays(i * 70L)))
+                    .build());
+        }
+        movementGateway.insertAll(movements);
+
+        List<BookMovementResponse> seen = readAll(page -> movementGateway.findByUserId(userId, page), 4, 3);
+
+        assertEquals(movements.stream().map(BookMovement::getId).toList(),
+                seen.stream().map(BookMovementResponse::id).toList());
+    }
+
+    @Test
+    void bookSearch_fallbackQuery_pagesByTitleThenId() {
+        for (int i = 0; i < 7; i++) {
+            insertBook("Paging Fallback " + (i % 3), "Author " + i);
+        }
+
+        List<Book> seen = readAll(page -> bookGateway.search("paging fallback", null, null, page), 3, 3);
+
+        assertEquals(7, seen.size());
+        assertEquals(sortedByTitleThenId(seen), seen);
+    }
+
+    @Test
+    void bookExport_streamsEveryMatchInTitleOrder() {
+        for (int i = 0; i < 5; i++) {
+            insertBook("Export Stream " + (i % 2), "Author " + i);
+        }
+
+        List<Book> streamed = new ArrayList<>();
+        bookGateway.forEachMatching("export stream", null, null, streamed::add);
+
+        assertEquals(5, streamed.size());
+        assertEquals(sortedByTitleThenId(streamed), streamed);
+    }
+
+    @Test
+    void bookSearch_rankedQuery_pagesByRelevanceWithoutGapsOrDuplicates() {
+        jdbcTemplate.execute("CREATE ALIAS IF NOT EXISTS similarity FOR \""
+                + KeysetPaginationTest.class.getName() + ".similarity\"");
+        catalogProperties.getSearch().setTrigramEnabled(true);
+        for (int i = 0; i < 9; i++) {
+            insertBook("Ranked" + "x".repeat(i % 4), "Author " + i);
+        }
+
+        List<Book> seen = readAll(page -> bookGateway.search("ranked", null, null, page), 4, 3);
+
+        assertEquals(9, seen.stream().map(Book::getId).distinct().count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i).getTitle().length() >= seen.get(i - 1).getTitle().length());
+        }
+    }
+
+    public static double similarity(String a, String b) {
+        return 1.0 / (1 + Math.abs(a.length() - b.length()));
+    }
+
+    private <T> List<T> readAll(Function<PageQuery, CursorPage<T>> fetch, int limit, int expectedPages) {
+        List<T> seen = new ArrayList<>();
+        PageQuery query = PageQuery.first(limit);
+        int pages = 0;
+        while (true) {
+            CursorPage<T> page = fetch.apply(query);
+            pages++;
+            seen.addAll(page.getItems());
+            if (!page.hasNext()) {
+                break;
+            }
+            assertEquals(limit, page.getItems().size());
+            query = PageQuery.of(page.getNextCursor(), limit);
+        }
+        assertEquals(expectedPages, pages);
+        return seen;
+    }
+
+    private void insertBook(String title, String author) {
+        bookGateway.insert(Book.builder()
+                .id(UUID.randomUUID())
+                .title(title)
+                .author(author)
+                .rating(BigDecimal.ZERO)
+                .build());
+    }
+
+    private List<Book> sortedByTitleThenId(List<Book> books) {
+        return books.stream()
+                .sorted(Comparator.comparing(Book::getTitle).thenComparing(b -> b.getId().toString()))
+                .toList();
+    }
+}
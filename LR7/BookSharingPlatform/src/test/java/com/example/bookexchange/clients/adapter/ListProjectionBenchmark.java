@@ -0,0 +1,123 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.api.dto.InventoryResponse;
+import com.example.bookexchange.clients.entity.InventoryEntity;
+import com.example.bookexchange.models.InventoryItem;
+import com.example.bookexchange.models.InventoryStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Loads one user's 10k-row inventory the way the list endpoints used to (managed entities copied
+// into the domain model, then into the response record) and the way they do now (a constructor
+// expression straight into the record). Both run in a read-write transaction, as the old list
+// reads did, so the entity path also pays for the flush-time dirty check.
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ListProjectionBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.projection.rows", 10_000);
+    private static final int RUNS = 30;
+    private static final int BATCH = 5_000;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void entityMapping_vsConstructorProjection() {
+        UUID userId = seedInventory();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        int viaEntities = measure("entity -> domain -> record", () -> transaction.execute(status ->
+                entityManager.createQuery("SELECT i FROM InventoryEntity i WHERE i.userId = :userId ORDER BY i.id",
+                                InventoryEntity.class)
+                        .setParameter("userId", userId)
+                        .getResultStream()
+                        .map(ListProjectionBenchmark::toDomain)
+                        .map(item -> new InventoryResponse(item.getId(), item.getUserId(), item.getBookId(),
+                                item.getStatus(), item.getCondition()))
+                        .toList()
+                        .size()));
+        int viaProjection = measure("SELECT new record", () -> transaction.execute(status ->
+                entityManager.createQuery("SELECT new com.example.bookexchange.api.dto.InventoryResponse("
+                                        + "i.id, i.userId, i.bookId, i.status, i.conditionValue) "
+                                        + "FROM InventoryEntity i WHERE i.userId = :userId ORDER BY i.id",
+                                InventoryResponse.class)
+                        .setParameter("userId", userId)
+                        .getResultList()
+                        .size()));
+
+        assertEquals(ROWS, viaEntities);
+        assertEquals(ROWS, viaProjection);
+    }
+
+    private int measure(String name, Supplier<Integer> load) {
+        for (int i = 0; i < 5; i++) {
+            load.get();
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long[] nanos = new long[RUNS];
+        long allocated = 0;
+        int rows = 0;
+        for (int i = 0; i < RUNS; i++) {
+            long bytesBefore = threads.getThreadAllocatedBytes(thread);
+            long began = System.nanoTime();
+            rows = load.get();
+            nanos[i] = System.nanoTime() - began;
+            allocated += threads.getThreadAllocatedBytes(thread) - bytesBefore;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-28s rows=%d runs=%d p50=%.2f ms p99=%.2f ms rows/s=%.0f allocated=%.1f MB/op%n",
+                name, ROWS, RUNS, nanos[RUNS / 2] / 1e6, nanos[RUNS * 99 / 100] / 1e6,
+                ROWS * 1e9 / nanos[RUNS / 2], allocated / (double) RUNS / (1 << 20));
+        return rows;
+    }
+
+    private static InventoryItem toDomain(InventoryEntity entity) {
+        return InventoryItem.builder()
+                .id(entity.getId())
+                .userId(entity.getUserId())
+                .bookId(entity.getBookId())
+                .status(entity.getStatus())
+                .condition(entity.getConditionValue())
+                .build();
+    }
+
+    private UUID seedInventory() {
+        UUID userId = UUID.randomUUID();
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(new Object[]{UUID.randomUUID(), userId, UUID.randomUUID(), InventoryStatus.AVAILABLE.name(), "GOOD"});
+            if (batch.size() == BATCH) {
+                jdbcTemplate.batchUpdate("INSERT INTO inventory (id, user_id, book_id, status, condition_value) VALUES (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO inventory (id, user_id, book_id, status, condition_value) VALUES (?, ?, ?, ?, ?)", batch);
+        }
+        return userId;
+    }
+}
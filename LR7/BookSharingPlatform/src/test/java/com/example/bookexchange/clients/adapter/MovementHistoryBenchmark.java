@@ -0,0 +1,124 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.models.PageQuery;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Row count defaults to a size the in-memory database seeds quickly; raise it with
+// -Dbenchmark.movements.rows=... to reproduce production volumes.
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(BookMovementGatewayAdapter.class)
+class MovementHistoryBenchmark {
+
+    private static final int ROWS = Integer.getInteger("benchmark.movements.rows", 500_000);
+    private static final int USERS = 5_000;
+    private static final int HEAVY_USER_SHARE = 10;
+    private static final int PAGE = 20;
+    private static final int LOOKUPS = 200;
+    private static final int BATCH = 5_000;
+    private static final String OR_QUERY = "SELECT * FROM book_movements WHERE from_user_id = ? OR to_user_id = ? "
+            + "ORDER BY created_at DESC, id DESC LIMIT " + (PAGE + 1);
+
+    @Autowired
+    private BookMovementGatewayAdapter movementGateway;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void heavyUserHistoryFirstPage() {
+        UUID heavy = seed();
+
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_movements_from_user ON book_movements(from_user_id)");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_movements_to_user ON book_movements(to_user_id)");
+        printPlan("OR query, single-column indexes", OR_QUERY, heavy);
+        int orRows = measure("OR query", () -> jdbcTemplate.queryForList(OR_QUERY, heavy, heavy).size());
+
+        jdbcTemplate.execute("DROP INDEX idx_movements_from_user");
+        jdbcTemplate.execute("DROP INDEX idx_movements_to_user");
+        jdbcTemplate.execute("CREATE INDEX idx_movements_from_user_created ON book_movements(from_user_id, created_at DESC, id DESC)");
+        jdbcTemplate.execute("CREATE INDEX idx_movements_to_user_created ON book_movements(to_user_id, created_at DESC, id DESC)");
+        printPlan("sent side, composite index", "SELECT * FROM book_movements WHERE from_user_id = ? "
+                + "ORDER BY from_user_id, created_at DESC, id DESC LIMIT " + (PAGE + 1), heavy);
+        int mergedRows = measure("merge of two index scans",
+                () -> movementGateway.findByUserId(heavy, PageQuery.first(PAGE)).getItems().size());
+
+        assertEquals(PAGE + 1, orRows);
+        assertEquals(PAGE, mergedRows);
+    }
+
+    private int measure(String name, IntSupplier query) {
+        for (int i = 0; i < 20; i++) {
+            query.getAsInt();
+        }
+        long[] nanos = new long[LOOKUPS];
+        int rows = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            long began = System.nanoTime();
+            rows = query.getAsInt();
+            nanos[i] = System.nanoTime() - began;
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-26s rows=%d heavy-user-share=1/%d p50=%.3f ms p99=%.3f ms%n",
+                name, ROWS, HEAVY_USER_SHARE, nanos[LOOKUPS / 2] / 1e6, nanos[LOOKUPS * 99 / 100] / 1e6);
+        return rows;
+    }
+
+    private void printPlan(String name, String sql, UUID userId) {
+        String plan = jdbcTemplate.queryForList("EXPLAIN " + sql.replace("?", "'" + userId + "'"), String.class).get(0);
+        System.out.printf("--- plan: %s%n%s%n", name, plan);
+    }
+
+    private UUID seed() {
+        UUID[] users = new UUID[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = UUID.randomUUID();
+        }
+        UUID heavy = users[0];
+        Instant base = Instant.parse("2025-01-01T00:00:00Z");
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Object[]> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            UUID from = users[random.nextInt(USERS)];
+            UUID to = users[random.nextInt(USERS)];
+            if (i % HEAVY_USER_SHARE == 0) {
+                if (random.nextBoolean()) {
+                    from = heavy;
+                } else {
+                    to = heavy;
+                }
+            }
+            batch.add(new Object[]{UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), from, to, "APPROVED",
+                    Timestamp.from(base.plusSeconds(random.nextInt(365 * 24 * 3600)))});
+            if (batch.size() == BATCH) {
+                insert(batch);
+            }
+        }
+        insert(batch);
+        return heavy;
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("INSERT INTO book_movements "
+                + "(id, exchange_id, inventory_id, from_user_id, to_user_id, status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", batch);
+        batch.clear();
+    }
+}
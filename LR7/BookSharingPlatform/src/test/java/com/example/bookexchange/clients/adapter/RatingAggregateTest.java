@@ -0,0 +1,138 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.controllers.RatingConsistencyJob;
+import com.example.bookexchange.controllers.port.RatingRefreshQueue;
+import com.example.bookexchange.models.RatingDelta;
+import com.example.bookexchange.models.Review;
+import com.example.bookexchange.models.User;
+import com.example.bookexchange.shared.config.RatingConsistencyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+        UserGatewayAdapter.class,
+        RatingAggregateGatewayAdapter.class,
+        RatingConsistencyJob.class,
+        RatingConsistencyProperties.class,
+        SimpleMeterRegistry.class
+})
+class RatingAggregateTest {
+
+    @Autowired
+    private UserGatewayAdapter userGateway;
+    @Autowired
+    private RatingAggregateGatewayAdapter ratingAggregateGateway;
+    @Autowired
+    private RatingConsistencyJob ratingConsistencyJob;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockBean
+    private RatingRefreshQueue ratingRefreshQueue;
+
+    @Test
+    void addRatings_foldsDeltasIntoSumCountAndRoundedAverage() {
+        UUID reviewed = newUser();
+        UUID untouched = newUser();
+
+        userGateway.addRatings(List.of(delta(reviewed, 13, 3)));
+
+        Map<String, Object> row = aggregate(reviewed);
+        assertEquals(13L, ((Number) row.get("rating_sum")).longValue());
+        assertEquals(3, ((Number) row.get("rating_count")).intValue());
+        assertEquals(0, new BigDecimal("4.33").compareTo(userGateway.findById(reviewed).orElseThrow().getRating()));
+
+        userGateway.addRatings(List.of(delta(reviewed, 2, 1)));
+
+        row = aggregate(reviewed);
+        assertEquals(15L, ((Number) row.get("rating_sum")).longValue());
+        assertEquals(4, ((Number) row.get("rating_count")).intValue());
+        assertEquals(0, new BigDecimal("3.75").compareTo(userGateway.findById(reviewed).orElseThrow().getRating()));
+        Map<String, Object> empty = aggregate(untouched);
+        assertEquals(0L, ((Number) empty.get("rating_sum")).longValue());
+        assertEquals(0, ((Number) empty.get("rating_count")).intValue());
+    }
+
+    @Test
+    void consistencyCheck_repairsAggregatesThatDriftedFromReviews() {
+        UUID userId = newUser();
+        review(userId, 2);
+        review(userId, 5);
+        jdbcTemplate.update("UPDATE users SET rating_sum = 8, rating_count = 3 WHERE id = ?", userId);
+
+        assertEquals(1, ratingAggregateGateway.findDrift(Review.TargetType.USER, 100).stream()
+                .filter(drift -> drift.getTargetId().equals(userId))
+                .count());
+
+        ratingConsistencyJob.run();
+
+        Map<String, Object> row = aggregate(userId);
+        assertEquals(7L, ((Number) row.get("rating_sum")).longValue());
+        assertEquals(2, ((Number) row.get("rating_count")).intValue());
+        assertEquals(0, new BigDecimal("3.50").compareTo(userGateway.findById(userId).orElseThrow().getRating()));
+        assertTrue(ratingAggregateGateway.findDrift(Review.TargetType.USER, 100).isEmpty());
+    }
+
+    @Test
+    void consistencyCheck_leavesTargetsWithUnwrittenDeltasAlone() {
+        UUID userId = newUser();
+        review(userId, 4);
+        when(ratingRefreshQueue.isPending(Review.TargetType.USER, userId)).thenReturn(true);
+
+        ratingConsistencyJob.run();
+
+        Map<String, Object> row = aggregate(userId);
+        assertEquals(0L, ((Number) row.get("rating_sum")).longValue());
+        assertEquals(0, ((Number) row.get("rating_count")).intValue());
+    }
+
+    private UUID newUser() {
+        UUID id = UUID.randomUUID();
+        return userGateway.insert(User.builder()
+                .id(id)
+                .username("user-" + id)
+                .email(id + "@example.com")
+                .passwordHash("hash")
+                .rating(BigDecimal.ZERO)
+                .build()).getId();
+    }
+
+    private void review(UUID targetId, int rating) {
+        jdbcTemplate.update("INSERT INTO reviews (id, exchange_id, author_id, target_type, target_id, rating, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), Review.TargetType.USER.name(), targetId, rating,
+                Timestamp.from(Instant.now()));
+    }
+
+    private static RatingDelta delta(UUID targetId, long ratingSum, int ratingCount) {
+        return RatingDelta.builder()
+                .targetId(targetId)
+                .ratingSum(ratingSum)
+                .ratingCount(ratingCount)
+                .build();
+    }
+
+    private Map<String, Object> aggregate(UUID userId) {
+        return jdbcTemplate.queryForMap("SELECT rating_sum, rating_count FROM users WHERE id = ?", userId);
+    }
+}
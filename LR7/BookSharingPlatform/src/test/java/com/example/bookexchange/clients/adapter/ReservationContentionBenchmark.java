@@ -0,0 +1,126 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.controllers.ExchangeUseCase;
+import com.example.bookexchange.controllers.port.ExchangeEventPublisher;
+import com.example.bookexchange.controllers.port.InventoryGateway;
+import com.example.bookexchange.models.InventoryItem;
+import com.example.bookexchange.models.InventoryStatus;
+import com.example.bookexchange.shared.exception.ConflictException;
+import com.example.bookexchange.shared.config.MovementWriterProperties;
+import com.example.bookexchange.shared.id.UuidV7Generator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+        InventoryGatewayAdapter.class,
+        ExchangeGatewayAdapter.class,
+        BookMovementGatewayAdapter.class,
+        BufferedBookMovementRecorder.class,
+        MovementWriterProperties.class,
+        SimpleMeterRegistry.class,
+        ExchangeUseCase.class,
+        UuidV7Generator.class
+})
+class ReservationContentionBenchmark {
+
+    private static final int ITEMS = 200;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private ExchangeUseCase exchangeUseCase;
+    @Autowired
+    private InventoryGateway inventoryGateway;
+    @MockBean
+    private ExchangeEventPublisher exchangeEventPublisher;
+
+    @Test
+    void manyThreadsRacingForOneItem() throws Exception {
+        Result naive = race("read-check-save", item -> {
+            InventoryItem current = inventoryGateway.findById(item).orElseThrow();
+            if (current.getStatus() != InventoryStatus.AVAILABLE) {
+                return false;
+            }
+            inventoryGateway.save(current.withStatus(InventoryStatus.BUSY));
+            return true;
+        });
+        Result cas = race("requestExchange (CAS)", item -> {
+            try {
+                exchangeUseCase.requestExchange(UUID.randomUUID(), item);
+                return true;
+            } catch (ConflictException ex) {
+                return false;
+            }
+        });
+
+        assertEquals(0, cas.doubleBooked());
+        assertTrue(naive.doubleBooked() >= cas.doubleBooked());
+    }
+
+    private Result race(String name, Function<UUID, Boolean> reserve) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        int doubleBooked = 0;
+        long elapsed = 0;
+        try {
+            for (int i = 0; i < ITEMS; i++) {
+                UUID item = newAvailableItem();
+                CyclicBarrier start = new CyclicBarrier(THREADS);
+                List<Future<Boolean>> results = new ArrayList<>(THREADS);
+                long began = System.nanoTime();
+                for (int t = 0; t < THREADS; t++) {
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        return reserve.apply(item);
+                    }));
+                }
+                int winners = 0;
+                for (Future<Boolean> result : results) {
+                    winners += result.get() ? 1 : 0;
+                }
+                elapsed += System.nanoTime() - began;
+                if (winners > 1) {
+                    doubleBooked++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        System.out.printf("%-22s items=%d threads=%d double-booked=%d avg race=%.2f ms%n",
+                name, ITEMS, THREADS, doubleBooked, elapsed / 1_000_000.0 / ITEMS);
+        return new Result(doubleBooked);
+    }
+
+    private UUID newAvailableItem() {
+        return inventoryGateway.insert(InventoryItem.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .bookId(UUID.randomUUID())
+                .status(InventoryStatus.AVAILABLE)
+                .condition("GOOD")
+                .build()).getId();
+    }
+
+    private record Result(int doubleBooked) {
+    }
+}
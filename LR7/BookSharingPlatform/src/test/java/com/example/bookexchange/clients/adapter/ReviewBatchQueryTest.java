@@ -0,0 +1,77 @@
+package com.example.bookexchange.clients.adapter;
+
+import com.example.bookexchange.models.Review;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ReviewGatewayAdapter.class)
+class ReviewBatchQueryTest {
+
+    private static final Instant BASE = Instant.parse("2026-03-01T00:00:00Z");
+
+    @Autowired
+    private ReviewGatewayAdapter reviewGateway;
+
+    @Test
+    void findByTargets_returnsEveryReviewOfRequestedTargetsOnly() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID notRequested = UUID.randomUUID();
+        review(Review.TargetType.BOOK, first, 0);
+        review(Review.TargetType.BOOK, first, 1);
+        review(Review.TargetType.BOOK, second, 2);
+        review(Review.TargetType.BOOK, notRequested, 3);
+        review(Review.TargetType.USER, first, 4);
+
+        Map<UUID, Long> counts = reviewGateway.findByTargets(Review.TargetType.BOOK, List.of(first, second), null).stream()
+                .collect(Collectors.groupingBy(Review::getTargetId, Collectors.counting()));
+
+        assertEquals(Map.of(first, 2L, second, 1L), counts);
+    }
+
+    @Test
+    void findByTargets_withLimit_keepsNewestReviewsPerTarget() {
+        UUID hot = UUID.randomUUID();
+        UUID quiet = UUID.randomUUID();
+        for (int i = 0; i < 5; i++) {
+            review(Review.TargetType.BOOK, hot, i);
+        }
+        Review onlyQuiet = review(Review.TargetType.BOOK, quiet, 0);
+
+        List<Review> reviews = reviewGateway.findByTargets(Review.TargetType.BOOK, List.of(hot, quiet), 2);
+
+        List<Instant> hotDates = reviews.stream().filter(r -> r.getTargetId().equals(hot)).map(Review::getCreatedAt).toList();
+        assertEquals(List.of(BASE.plusSeconds(4), BASE.plusSeconds(3)), hotDates);
+        assertEquals(List.of(onlyQuiet.getId()),
+                reviews.stream().filter(r -> r.getTargetId().equals(quiet)).map(Review::getId).toList());
+    }
+
+    private Review review(Review.TargetType targetType, UUID targetId, int secondsAfterBase) {
+        return reviewGateway.insert(Review.builder()
+                .id(UUID.randomUUID())
+                .exchangeId(UUID.randomUUID())
+                .authorId(UUID.randomUUID())
+                .targetType(targetType)
+                .targetId(targetId)
+                .rating(4)
+                .comment("ok")
+                .createdAt(BASE.plusSeconds(secondsAfterBase))
+                .build());
+    }
+}
@@ -1,15 +1,18 @@
 package com.example.bookexchange.controllers;
 
 import com.example.bookexchange.controllers.port.UserGateway;
+import com.example.bookexchange.controllers.port.IdGenerator;
 import com.example.bookexchange.models.AuthToken;
 import com.example.bookexchange.models.User;
 import com.example.bookexchange.shared.exception.ConflictException;
 import com.example.bookexchange.shared.exception.UnauthorizedException;
 import com.example.bookexchange.shared.security.JwtUtil;
+import com.example.bookexchange.shared.id.UuidV7Generator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -19,7 +22,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class AuthUseCaseTest {
@@ -30,16 +33,16 @@ class AuthUseCaseTest {
     private PasswordEncoder passwordEncoder;
     @Mock
     private JwtUtil jwtUtil;
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
 
     @InjectMocks
     private AuthUseCase authUseCase;
 
     @Test
     void register_success() {
-        when(userGateway.existsByEmail("john@example.com")).thenReturn(false);
-        when(userGateway.existsByUsername("john")).thenReturn(false);
         when(passwordEncoder.encode("secret123")).thenReturn("hashed");
-        when(userGateway.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(userGateway.insert(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
 
         User result = authUseCase.register("john", "john@example.com", "secret123");
 
@@ -52,10 +55,12 @@ class AuthUseCaseTest {
 
     @Test
     void register_emailExists_throwsConflict() {
-        when(userGateway.existsByEmail("john@example.com")).thenReturn(true);
+        when(passwordEncoder.encode("secret123")).thenReturn("hashed");
+        when(userGateway.insert(any(User.class))).thenThrow(new ConflictException("Email is already registered"));
 
-        assertThrows(ConflictException.class,
+        ConflictException ex = assertThrows(ConflictException.class,
                 () -> authUseCase.register("john", "john@example.com", "secret123"));
+        assertEquals("Email is already registered", ex.getMessage());
     }
 
     @Test
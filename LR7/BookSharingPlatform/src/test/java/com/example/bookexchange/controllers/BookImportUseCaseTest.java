@@ -0,0 +1,106 @@
+package com.example.bookexchange.controllers;
+
+import com.example.bookexchange.controllers.port.BookGateway;
+import com.example.bookexchange.controllers.port.BookSuggestionIndex;
+import com.example.bookexchange.controllers.port.IdGenerator;
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.models.BookImportResult;
+import com.example.bookexchange.models.BookImportRow;
+import com.example.bookexchange.shared.config.CatalogProperties;
+import com.example.bookexchange.shared.id.UuidV7Generator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportUseCaseTest {
+
+    @Mock
+    private BookGateway bookGateway;
+    @Mock
+    private BookSuggestionIndex bookSuggestionIndex;
+
+    private final IdGenerator idGenerator = new UuidV7Generator();
+    private final CatalogProperties catalogProperties = new CatalogProperties();
+    private BookImportUseCase bookImportUseCase;
+
+    @BeforeEach
+    void setUp() {
+        catalogProperties.getBulkImport().setBatchSize(2);
+        bookImportUseCase = new BookImportUseCase(bookGateway, idGenerator, catalogProperties, bookSuggestionIndex);
+    }
+
+    @Test
+    void importBooks_dedupesWithinImportAndAgainstCatalog() {
+        when(bookGateway.findExistingIsbns(anyCollection())).thenReturn(Set.of(), Set.of("222"));
+        when(bookGateway.insertAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        BookImportResult result = bookImportUseCase.importBooks(Stream.of(
+                row(1, "Clean Code", "Robert Martin", "111"),
+                row(2, "Clean Code", "Robert Martin", "111"),
+                row(3, "Refactoring", "Martin Fowler", "222"),
+                row(4, "No Isbn", "Anonymous", " ")));
+
+        assertEquals(4, result.getReceived());
+        assertEquals(2, result.getInserted());
+        assertEquals(2, result.getDuplicates());
+        assertEquals(0, result.getRejected());
+        assertEquals(List.of(2L, 3L), result.getFailures().stream().map(BookImportResult.Failure::getLine).toList());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Book>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(bookGateway, times(2)).insertAll(inserted.capture());
+        assertNull(inserted.getAllValues().get(1).get(0).getIsbn());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importBooks_reportsInvalidRowsAndRowsLostToConcurrentInsert() {
+        when(bookGateway.findExistingIsbns(anyCollection())).thenReturn(Set.of());
+        when(bookGateway.insertAll(anyList())).thenAnswer(inv -> List.of(((List<Book>) inv.getArgument(0)).get(0)));
+
+        BookImportResult result = bookImportUseCase.importBooks(Stream.of(
+                row(1, "", "Robert Martin", "111"),
+                BookImportRow.builder().line(2).error("Malformed JSON").build(),
+                row(3, "Refactoring", "Martin Fowler", "222"),
+                row(4, "Patterns", "Gang of Four", "333")));
+
+        assertEquals(1, result.getInserted());
+        assertEquals(1, result.getDuplicates());
+        assertEquals(2, result.getRejected());
+        assertEquals("Title is required", result.getFailures().get(0).getMessage());
+        assertEquals(BookImportResult.Outcome.DUPLICATE, result.getFailures().get(2).getOutcome());
+        assertEquals(4L, result.getFailures().get(2).getLine());
+    }
+
+    @Test
+    void importBooks_capsReportedFailures() {
+        catalogProperties.getBulkImport().setMaxReportedFailures(1);
+
+        BookImportResult result = bookImportUseCase.importBooks(Stream.of(
+                row(1, "", "a", null),
+                row(2, "", "b", null)));
+
+        assertEquals(2, result.getRejected());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.isFailuresTruncated());
+    }
+
+    private BookImportRow row(long line, String title, String author, String isbn) {
+        return BookImportRow.builder().line(line).title(title).author(author).isbn(isbn).build();
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.bookexchange.controllers;
 
 import com.example.bookexchange.controllers.port.BookGateway;
+import com.example.bookexchange.controllers.port.BookSuggestionIndex;
+import com.example.bookexchange.controllers.port.IdGenerator;
 import com.example.bookexchange.models.Book;
 import com.example.bookexchange.shared.exception.ConflictException;
+import com.example.bookexchange.shared.id.UuidV7Generator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -15,6 +19,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +27,10 @@ class BookUseCaseTest {
 
     @Mock
     private BookGateway bookGateway;
+    @Mock
+    private BookSuggestionIndex bookSuggestionIndex;
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
 
     @InjectMocks
     private BookUseCase bookUseCase;
@@ -38,7 +47,7 @@ class BookUseCaseTest {
     @Test
     void addBook_success() {
         when(bookGateway.findByIsbn("9780132350884")).thenReturn(Optional.empty());
-        when(bookGateway.save(any(Book.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(bookGateway.insert(any(Book.class))).thenAnswer(inv -> inv.getArgument(0));
 
         Book saved = bookUseCase.addBook("Clean Code", "Robert Martin", "9780132350884");
 
@@ -47,5 +56,15 @@ class BookUseCaseTest {
         assertEquals("Robert Martin", saved.getAuthor());
         assertEquals("9780132350884", saved.getIsbn());
         assertEquals(BigDecimal.ZERO, saved.getRating());
+        verify(bookSuggestionIndex).add(saved);
+    }
+
+    @Test
+    void suggest_clampsLimit() {
+        bookUseCase.suggest("cle", 1_000);
+        bookUseCase.suggest("cle", null);
+
+        verify(bookSuggestionIndex).suggest("cle", BookUseCase.MAX_SUGGESTIONS);
+        verify(bookSuggestionIndex).suggest("cle", BookUseCase.DEFAULT_SUGGESTIONS);
     }
 }
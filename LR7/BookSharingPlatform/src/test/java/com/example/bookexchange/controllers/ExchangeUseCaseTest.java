@@ -1,17 +1,22 @@
 package com.example.bookexchange.controllers;
 
+import com.example.bookexchange.controllers.port.ExchangeEventPublisher;
 import com.example.bookexchange.controllers.port.ExchangeGateway;
 import com.example.bookexchange.controllers.port.BookMovementGateway;
+import com.example.bookexchange.controllers.port.BookMovementRecorder;
 import com.example.bookexchange.controllers.port.InventoryGateway;
+import com.example.bookexchange.controllers.port.IdGenerator;
 import com.example.bookexchange.models.ExchangeRequest;
 import com.example.bookexchange.models.ExchangeStatus;
 import com.example.bookexchange.models.InventoryItem;
 import com.example.bookexchange.models.InventoryStatus;
 import com.example.bookexchange.shared.exception.ConflictException;
+import com.example.bookexchange.shared.id.UuidV7Generator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Optional;
@@ -19,6 +24,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +36,12 @@ class ExchangeUseCaseTest {
     private InventoryGateway inventoryGateway;
     @Mock
     private BookMovementGateway bookMovementGateway;
+    @Mock
+    private BookMovementRecorder bookMovementRecorder;
+    @Mock
+    private ExchangeEventPublisher exchangeEventPublisher;
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
 
     @InjectMocks
     private ExchangeUseCase exchangeUseCase;
@@ -49,7 +61,7 @@ class ExchangeUseCaseTest {
         when(inventoryGateway.findById(inventoryId)).thenReturn(Optional.of(inventory));
 
         assertThrows(ConflictException.class, () -> exchangeUseCase.requestExchange(requesterId, inventoryId));
-        verify(exchangeGateway, never()).save(any());
+        verify(exchangeGateway, never()).insert(any());
     }
 
     @Test
@@ -65,15 +77,94 @@ class ExchangeUseCaseTest {
                 .condition("GOOD")
                 .build();
         when(inventoryGateway.findById(inventoryId)).thenReturn(Optional.of(inventory));
-        when(exchangeGateway.save(any(ExchangeRequest.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(inventoryGateway.save(any(InventoryItem.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(bookMovementGateway.save(any())).thenAnswer(inv -> inv.getArgument(0));
+        when(inventoryGateway.compareAndSetStatus(inventoryId, InventoryStatus.AVAILABLE, InventoryStatus.BUSY)).thenReturn(true);
+        when(exchangeGateway.insert(any(ExchangeRequest.class))).thenAnswer(inv -> inv.getArgument(0));
 
         ExchangeRequest created = exchangeUseCase.requestExchange(requesterId, inventoryId);
 
         assertEquals(requesterId, created.getRequesterId());
         assertEquals(ownerId, created.getOwnerId());
         assertEquals(ExchangeStatus.REQUESTED, created.getStatus());
-        verify(inventoryGateway).save(argThat(i -> i.getStatus() == InventoryStatus.BUSY));
+        verify(inventoryGateway, never()).save(any());
+        verify(exchangeEventPublisher).publish(created);
+    }
+
+    @Test
+    void requestExchange_whenReservationLostToConcurrentRequest_throwsConflict() {
+        UUID inventoryId = UUID.randomUUID();
+        InventoryItem inventory = InventoryItem.builder()
+                .id(inventoryId)
+                .userId(UUID.randomUUID())
+                .bookId(UUID.randomUUID())
+                .status(InventoryStatus.AVAILABLE)
+                .condition("GOOD")
+                .build();
+        when(inventoryGateway.findById(inventoryId)).thenReturn(Optional.of(inventory));
+        when(inventoryGateway.compareAndSetStatus(inventoryId, InventoryStatus.AVAILABLE, InventoryStatus.BUSY)).thenReturn(false);
+
+        assertThrows(ConflictException.class, () -> exchangeUseCase.requestExchange(UUID.randomUUID(), inventoryId));
+        verify(exchangeGateway, never()).insert(any());
+        verify(bookMovementRecorder, never()).record(any());
+    }
+
+    @Test
+    void updateStatus_whenTransitionNotAllowed_throwsConflictWithoutWriting() {
+        ExchangeRequest exchange = exchange(ExchangeStatus.REQUESTED);
+        when(exchangeGateway.findById(exchange.getId())).thenReturn(Optional.of(exchange));
+
+        assertThrows(ConflictException.class,
+                () -> exchangeUseCase.updateStatus(exchange.getId(), ExchangeStatus.COMPLETED));
+        verify(exchangeGateway, never()).compareAndSetStatus(any(), any(), any(), any());
+        verifyNoInteractions(inventoryGateway, bookMovementRecorder, exchangeEventPublisher);
+    }
+
+    @Test
+    void updateStatus_whenStatusChangedConcurrently_throwsConflict() {
+        ExchangeRequest exchange = exchange(ExchangeStatus.REQUESTED);
+        when(exchangeGateway.findById(exchange.getId())).thenReturn(Optional.of(exchange));
+        when(exchangeGateway.compareAndSetStatus(eq(exchange.getId()), eq(ExchangeStatus.REQUESTED),
+                eq(ExchangeStatus.APPROVED), any())).thenReturn(false);
+
+        assertThrows(ConflictException.class,
+                () -> exchangeUseCase.updateStatus(exchange.getId(), ExchangeStatus.APPROVED));
+        verifyNoInteractions(inventoryGateway, bookMovementRecorder, exchangeEventPublisher);
+    }
+
+    @Test
+    void updateStatus_approve_keepsInventoryReserved() {
+        ExchangeRequest exchange = exchange(ExchangeStatus.REQUESTED);
+        when(exchangeGateway.findById(exchange.getId())).thenReturn(Optional.of(exchange));
+        when(exchangeGateway.compareAndSetStatus(eq(exchange.getId()), eq(ExchangeStatus.REQUESTED),
+                eq(ExchangeStatus.APPROVED), any())).thenReturn(true);
+
+        ExchangeRequest updated = exchangeUseCase.updateStatus(exchange.getId(), ExchangeStatus.APPROVED);
+
+        assertEquals(ExchangeStatus.APPROVED, updated.getStatus());
+        verify(bookMovementRecorder).record(argThat(m -> m.getStatus() == ExchangeStatus.APPROVED));
+        verify(exchangeEventPublisher).publish(updated);
+        verifyNoInteractions(inventoryGateway);
+    }
+
+    @Test
+    void updateStatus_decline_releasesInventoryWithoutLookup() {
+        ExchangeRequest exchange = exchange(ExchangeStatus.REQUESTED);
+        when(exchangeGateway.findById(exchange.getId())).thenReturn(Optional.of(exchange));
+        when(exchangeGateway.compareAndSetStatus(eq(exchange.getId()), eq(ExchangeStatus.REQUESTED),
+                eq(ExchangeStatus.DECLINED), any())).thenReturn(true);
+
+        exchangeUseCase.updateStatus(exchange.getId(), ExchangeStatus.DECLINED);
+
+        verify(inventoryGateway).compareAndSetStatus(exchange.getInventoryId(), InventoryStatus.BUSY, InventoryStatus.AVAILABLE);
+        verify(inventoryGateway, never()).findById(any());
+    }
+
+    private ExchangeRequest exchange(ExchangeStatus status) {
+        return ExchangeRequest.builder()
+                .id(UUID.randomUUID())
+                .requesterId(UUID.randomUUID())
+                .ownerId(UUID.randomUUID())
+                .inventoryId(UUID.randomUUID())
+                .status(status)
+                .build();
     }
 }
@@ -0,0 +1,103 @@
+package com.example.bookexchange.controllers;
+
+import com.example.bookexchange.controllers.port.MovementPartitionGateway;
+import com.example.bookexchange.models.MovementPartition;
+import com.example.bookexchange.shared.config.MovementPartitionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MovementArchiveJobTest {
+
+    private static final YearMonth NOW = YearMonth.of(2026, 10);
+
+    private final MovementPartitionGateway gateway = mock(MovementPartitionGateway.class);
+    private final MovementPartitionProperties properties = new MovementPartitionProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MovementArchiveJob job = new MovementArchiveJob(gateway, properties, meterRegistry);
+
+    @BeforeEach
+    void setUp() {
+        properties.setRetentionMonths(12);
+        properties.setPremakeMonths(2);
+        properties.setArchiveBatchSize(100);
+        properties.setArchiveBatchPause(Duration.ZERO);
+    }
+
+    @Test
+    void createsCurrentAndUpcomingMonths() {
+        when(gateway.findPartitions()).thenReturn(List.of());
+
+        job.run(NOW);
+
+        verify(gateway).createPartition(YearMonth.of(2026, 10));
+        verify(gateway).createPartition(YearMonth.of(2026, 11));
+        verify(gateway).createPartition(YearMonth.of(2026, 12));
+        verify(gateway, times(3)).createPartition(any());
+    }
+
+    @Test
+    void partitionsOutsideRetention_areDetachedMovedInBatchesAndDropped() {
+        YearMonth expired = YearMonth.of(2025, 10);
+        YearMonth kept = YearMonth.of(2025, 11);
+        when(gateway.findPartitions()).thenReturn(List.of(partition(expired, true), partition(kept, true)));
+        when(gateway.archiveBatch(expired, 100)).thenReturn(100, 100, 40);
+
+        job.run(NOW);
+
+        InOrder order = inOrder(gateway);
+        order.verify(gateway).detachPartition(expired);
+        order.verify(gateway, times(3)).archiveBatch(expired, 100);
+        order.verify(gateway).dropPartition(expired);
+        verify(gateway, never()).detachPartition(kept);
+        verify(gateway, never()).archiveBatch(eq(kept), anyInt());
+        assertEquals(240, meterRegistry.counter("movements.archive.moved").count());
+    }
+
+    @Test
+    void partitionDetachedByAnInterruptedRun_isFinishedWithoutDetachingAgain() {
+        YearMonth leftOver = YearMonth.of(2024, 3);
+        when(gateway.findPartitions()).thenReturn(List.of(partition(leftOver, false)));
+        when(gateway.archiveBatch(leftOver, 100)).thenReturn(0);
+
+        job.run(NOW);
+
+        verify(gateway, never()).detachPartition(any());
+        verify(gateway).dropPartition(leftOver);
+    }
+
+    @Test
+    void failingToCreateAMonth_doesNotStopArchiving() {
+        YearMonth expired = YearMonth.of(2025, 1);
+        doThrow(new DataIntegrityViolationException("rows in default partition"))
+                .when(gateway).createPartition(NOW);
+        when(gateway.findPartitions()).thenReturn(List.of(partition(expired, true)));
+
+        job.run(NOW);
+
+        verify(gateway).createPartition(NOW.plusMonths(2));
+        verify(gateway).dropPartition(expired);
+    }
+
+    private MovementPartition partition(YearMonth month, boolean attached) {
+        return MovementPartition.builder().month(month).attached(attached).build();
+    }
+}
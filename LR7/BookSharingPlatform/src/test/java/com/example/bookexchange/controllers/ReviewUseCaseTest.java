@@ -2,30 +2,34 @@ package com.example.bookexchange.controllers;
 
 import com.example.bookexchange.controllers.port.ExchangeGateway;
 import com.example.bookexchange.controllers.port.InventoryGateway;
-import com.example.bookexchange.controllers.port.BookGateway;
+import com.example.bookexchange.controllers.port.RatingRefreshQueue;
 import com.example.bookexchange.controllers.port.ReviewGateway;
-import com.example.bookexchange.controllers.port.UserGateway;
-import com.example.bookexchange.models.Book;
+import com.example.bookexchange.controllers.port.IdGenerator;
 import com.example.bookexchange.models.ExchangeRequest;
 import com.example.bookexchange.models.ExchangeStatus;
 import com.example.bookexchange.models.InventoryItem;
 import com.example.bookexchange.models.InventoryStatus;
 import com.example.bookexchange.models.Review;
-import com.example.bookexchange.models.User;
 import com.example.bookexchange.shared.exception.ConflictException;
+import com.example.bookexchange.shared.id.UuidV7Generator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,11 +40,11 @@ class ReviewUseCaseTest {
     @Mock
     private ExchangeGateway exchangeGateway;
     @Mock
-    private UserGateway userGateway;
-    @Mock
-    private BookGateway bookGateway;
-    @Mock
     private InventoryGateway inventoryGateway;
+    @Mock
+    private RatingRefreshQueue ratingRefreshQueue;
+    @Spy
+    private IdGenerator idGenerator = new UuidV7Generator();
 
     @InjectMocks
     private ReviewUseCase reviewUseCase;
@@ -72,7 +76,7 @@ class ReviewUseCaseTest {
     }
 
     @Test
-    void leaveReview_success_recalculatesRating() {
+    void leaveReview_success_marksUserRatingDirty() {
         UUID reviewerId = UUID.randomUUID();
         UUID revieweeId = UUID.randomUUID();
         UUID exchangeId = UUID.randomUUID();
@@ -84,27 +88,16 @@ class ReviewUseCaseTest {
                 .inventoryId(UUID.randomUUID())
                 .status(ExchangeStatus.TRANSFERRED)
                 .build();
-        User reviewee = User.builder()
-                .id(revieweeId)
-                .username("owner")
-                .email("owner@mail.com")
-                .passwordHash("hash")
-                .rating(BigDecimal.ZERO)
-                .build();
         when(exchangeGateway.findById(exchangeId)).thenReturn(Optional.of(exchange));
-        when(reviewGateway.save(any(Review.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(userGateway.findById(revieweeId)).thenReturn(Optional.of(reviewee));
-        when(reviewGateway.findByTargetTypeAndTargetId(Review.TargetType.USER, revieweeId)).thenReturn(List.of(
-                Review.builder().rating(4).build(),
-                Review.builder().rating(5).build()
-        ));
-        when(userGateway.save(any(User.class))).thenAnswer(inv -> inv.getArgument(0));
-
+        when(reviewGateway.insert(any(Review.class))).thenAnswer(inv -> inv.getArgument(0));
         reviewUseCase.leaveReview(reviewerId, exchangeId, Review.TargetType.USER, 5, "Great exchange");
+
+        verify(ratingRefreshQueue).addRating(Review.TargetType.USER, revieweeId, 5);
+        verify(reviewGateway, never()).findByTargetTypeAndTargetId(any(), any());
     }
 
     @Test
-    void leaveReview_bookTarget_recalculatesBookRating() {
+    void leaveReview_bookTarget_marksBookRatingDirty() {
         UUID reviewerId = UUID.randomUUID();
         UUID ownerId = UUID.randomUUID();
         UUID exchangeId = UUID.randomUUID();
@@ -125,24 +118,30 @@ class ReviewUseCaseTest {
                 .status(InventoryStatus.AVAILABLE)
                 .condition("GOOD")
                 .build();
-        Book book = Book.builder()
-                .id(bookId)
-                .title("Clean Architecture")
-                .author("Robert C. Martin")
-                .isbn("123")
-                .rating(BigDecimal.ZERO)
-                .build();
 
         when(exchangeGateway.findById(exchangeId)).thenReturn(Optional.of(exchange));
         when(inventoryGateway.findById(inventoryId)).thenReturn(Optional.of(item));
-        when(reviewGateway.save(any(Review.class))).thenAnswer(inv -> inv.getArgument(0));
-        when(reviewGateway.findByTargetTypeAndTargetId(Review.TargetType.BOOK, bookId)).thenReturn(List.of(
-                Review.builder().rating(3).build(),
-                Review.builder().rating(5).build()
-        ));
-        when(bookGateway.findById(bookId)).thenReturn(Optional.of(book));
-        when(bookGateway.save(any(Book.class))).thenAnswer(inv -> inv.getArgument(0));
-
+        when(reviewGateway.insert(any(Review.class))).thenAnswer(inv -> inv.getArgument(0));
         reviewUseCase.leaveReview(reviewerId, exchangeId, Review.TargetType.BOOK, 4, "Useful book");
+
+        verify(ratingRefreshQueue).addRating(Review.TargetType.BOOK, bookId, 4);
+    }
+
+    @Test
+    void getByTargets_groupsInRequestedOrderWithEmptyGroups() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID unreviewed = UUID.randomUUID();
+        Review a = Review.builder().id(UUID.randomUUID()).targetType(Review.TargetType.BOOK).targetId(first).rating(5).build();
+        Review b = Review.builder().id(UUID.randomUUID()).targetType(Review.TargetType.BOOK).targetId(second).rating(3).build();
+        Review c = Review.builder().id(UUID.randomUUID()).targetType(Review.TargetType.BOOK).targetId(first).rating(4).build();
+        when(reviewGateway.findByTargets(Review.TargetType.BOOK, Set.of(second, first, unreviewed), 2)).thenReturn(List.of(a, c, b));
+
+        Map<UUID, List<Review>> grouped = reviewUseCase.getByTargets(Review.TargetType.BOOK, List.of(second, first, unreviewed, first), 2);
+
+        assertEquals(List.of(second, first, unreviewed), List.copyOf(grouped.keySet()));
+        assertEquals(List.of(a, c), grouped.get(first));
+        assertEquals(List.of(b), grouped.get(second));
+        assertEquals(List.of(), grouped.get(unreviewed));
     }
 }
@@ -0,0 +1,100 @@
+package com.example.bookexchange.shared.concurrency;
+
+import com.example.bookexchange.controllers.BookUseCase;
+import com.example.bookexchange.controllers.port.BookGateway;
+import com.example.bookexchange.controllers.port.BookSuggestionIndex;
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.shared.config.DbConcurrencyProperties;
+import com.example.bookexchange.shared.exception.NotFoundException;
+import com.example.bookexchange.shared.exception.TooManyRequestsException;
+import com.example.bookexchange.shared.id.UuidV7Generator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DbPermitAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BookGateway bookGateway = mock(BookGateway.class);
+    private DbPermitAspect aspect;
+    private BookUseCase bookUseCase;
+
+    @BeforeEach
+    void setUp() {
+        DbConcurrencyProperties properties = new DbConcurrencyProperties();
+        properties.setPermits(1);
+        properties.setMaxWait(Duration.ofMillis(50));
+        aspect = new DbPermitAspect(properties, meterRegistry);
+        AspectJProxyFactory factory = new AspectJProxyFactory(
+                new BookUseCase(bookGateway, new UuidV7Generator(), mock(BookSuggestionIndex.class)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        bookUseCase = factory.getProxy();
+    }
+
+    @Test
+    void callWithoutAFreePermit_isRejectedAfterMaxWait() throws Exception {
+        UUID slowId = UUID.randomUUID();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookGateway.findById(slowId)).thenAnswer(inv -> {
+            entered.countDown();
+            release.await();
+            return Optional.of(Book.builder().id(slowId).build());
+        });
+        CompletableFuture<Book> slow = CompletableFuture.supplyAsync(() -> bookUseCase.getBook(slowId));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertThrows(TooManyRequestsException.class, () -> bookUseCase.getBook(UUID.randomUUID()));
+        assertEquals(1, meterRegistry.counter("db.permits.rejected").count());
+
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+        assertEquals(1, aspect.availablePermits());
+    }
+
+    @Test
+    void export_doesNotTakeAPermit() throws Exception {
+        UUID slowId = UUID.randomUUID();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookGateway.findById(slowId)).thenAnswer(inv -> {
+            entered.countDown();
+            release.await();
+            return Optional.of(Book.builder().id(slowId).build());
+        });
+        CompletableFuture<Book> slow = CompletableFuture.supplyAsync(() -> bookUseCase.getBook(slowId));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        bookUseCase.exportSearch(null, null, null, book -> {
+        });
+
+        verify(bookGateway).forEachMatching(any(), any(), any(), any());
+        assertEquals(0, meterRegistry.counter("db.permits.rejected").count());
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void failingCall_givesItsPermitBack() {
+        assertThrows(NotFoundException.class, () -> bookUseCase.getBook(UUID.randomUUID()));
+
+        assertEquals(1, aspect.availablePermits());
+    }
+}
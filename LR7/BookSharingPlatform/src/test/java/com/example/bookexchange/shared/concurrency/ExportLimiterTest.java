@@ -0,0 +1,58 @@
+package com.example.bookexchange.shared.concurrency;
+
+import com.example.bookexchange.shared.config.ExportProperties;
+import com.example.bookexchange.shared.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExportLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ExportLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        ExportProperties properties = new ExportProperties();
+        properties.setMaxConcurrent(1);
+        limiter = new ExportLimiter(properties, meterRegistry);
+    }
+
+    @Test
+    void exportOverTheCap_isRejectedUntilTheRunningOneCompletes() throws Exception {
+        MockHttpServletRequest running = asyncRequest();
+        limiter.acquire(running);
+        startAsync(running);
+
+        assertThrows(TooManyRequestsException.class, () -> limiter.acquire(asyncRequest()));
+        assertEquals(1.0, meterRegistry.get("exports.rejected").counter().count());
+
+        running.getAsyncContext().complete();
+
+        assertEquals(1, limiter.availableSlots());
+        limiter.acquire(asyncRequest());
+        assertEquals(0, limiter.availableSlots());
+    }
+
+    private static MockHttpServletRequest asyncRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/books/export");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private static void startAsync(MockHttpServletRequest request) throws Exception {
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setTaskExecutor(new ConcurrentTaskExecutor(Runnable::run));
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+        asyncManager.startCallableProcessing(() -> null);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.bookexchange.shared.id;
+
+import com.example.bookexchange.controllers.port.IdGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdInsertThroughputBenchmark {
+
+    private static final int ROWS = 1_000_000;
+    private static final int BATCH = 1_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void uuidV7_vsRandomUuid_insertIntoLargeTable() throws Exception {
+        double random = insertRowsPerSecond("random", new RandomUuidGenerator());
+        double v7 = insertRowsPerSecond("v7", new UuidV7Generator());
+
+        System.out.printf("speedup: %.2fx%n", v7 / random);
+        assertTrue(v7 > 0 && random > 0);
+    }
+
+    private double insertRowsPerSecond(String name, IdGenerator generator) throws Exception {
+        String url = "jdbc:h2:file:" + dir.resolve(name).toAbsolutePath() + ";CACHE_SIZE=8192";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("CREATE TABLE book_movements (id UUID PRIMARY KEY, status VARCHAR(32) NOT NULL, created_at TIMESTAMP NOT NULL)");
+            }
+            connection.setAutoCommit(false);
+            long start = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO book_movements (id, status, created_at) VALUES (?, ?, ?)")) {
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setObject(1, generator.nextId());
+                    insert.setString(2, "REQUESTED");
+                    insert.setTimestamp(3, Timestamp.from(Instant.now()));
+                    insert.addBatch();
+                    if (i % BATCH == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double rate = ROWS / seconds;
+            System.out.printf("%-7s %,d rows in %.2f s (%,.0f rows/s)%n", name, ROWS, seconds, rate);
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.bookexchange.shared.metrics;
+
+import com.example.bookexchange.controllers.BookUseCase;
+import com.example.bookexchange.controllers.port.BookGateway;
+import com.example.bookexchange.controllers.port.BookSuggestionIndex;
+import com.example.bookexchange.models.Book;
+import com.example.bookexchange.shared.exception.ConflictException;
+import com.example.bookexchange.shared.id.UuidV7Generator;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LayerMetricsAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BookGateway bookGateway = mock(BookGateway.class);
+    private BookUseCase bookUseCase;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(
+                new BookUseCase(bookGateway, new UuidV7Generator(), mock(BookSuggestionIndex.class)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LayerMetricsAspect(meterRegistry));
+        bookUseCase = factory.getProxy();
+    }
+
+    @Test
+    void successfulCall_isTimedAsSuccess() {
+        when(bookGateway.findByIsbn("111")).thenReturn(Optional.empty());
+        when(bookGateway.insert(any(Book.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        bookUseCase.addBook("Clean Code", "Robert Martin", "111");
+
+        Timer timer = meterRegistry.find(LayerMetricsAspect.USE_CASE_TIMER)
+                .tags("class", "BookUseCase", "method", "addBook", "outcome", "success", "exception", "none")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void businessFailure_isTaggedWithTheExceptionSubtype() {
+        when(bookGateway.findByIsbn("111")).thenReturn(Optional.of(Book.builder().id(UUID.randomUUID()).build()));
+
+        assertThrows(ConflictException.class, () -> bookUseCase.addBook("Clean Code", "Robert Martin", "111"));
+
+        Timer timer = meterRegistry.find(LayerMetricsAspect.USE_CASE_TIMER)
+                .tags("method", "addBook", "outcome", "business_error", "exception", "ConflictException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+}
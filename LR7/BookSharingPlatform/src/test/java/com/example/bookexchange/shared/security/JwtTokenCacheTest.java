@@ -0,0 +1,76 @@
+package com.example.bookexchange.shared.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtTokenCacheTest {
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.getCache().setMaximumSize(100);
+        meterRegistry = new SimpleMeterRegistry();
+        tokenCache = new JwtTokenCache(jwtUtil, properties, meterRegistry);
+    }
+
+    @Test
+    void resolve_verifiesTokenOnlyOnce() {
+        Claims claims = claimsExpiringIn(60_000);
+        when(jwtUtil.tryParseClaims("token")).thenReturn(Optional.of(claims));
+
+        assertEquals(Optional.of(claims), tokenCache.resolve("token"));
+        assertEquals(Optional.of(claims), tokenCache.resolve("token"));
+
+        verify(jwtUtil, times(1)).tryParseClaims("token");
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void resolve_invalidToken_isNotCached() {
+        when(jwtUtil.tryParseClaims("bad")).thenReturn(Optional.empty());
+
+        assertTrue(tokenCache.resolve("bad").isEmpty());
+        assertTrue(tokenCache.resolve("bad").isEmpty());
+
+        verify(jwtUtil, times(2)).tryParseClaims("bad");
+    }
+
+    @Test
+    void resolve_alreadyExpiredClaims_areNotCached() {
+        Claims claims = claimsExpiringIn(-1_000);
+        when(jwtUtil.tryParseClaims("stale")).thenReturn(Optional.of(claims));
+
+        tokenCache.resolve("stale");
+        tokenCache.resolve("stale");
+
+        verify(jwtUtil, times(2)).tryParseClaims("stale");
+    }
+
+    private Claims claimsExpiringIn(long millis) {
+        return Jwts.claims()
+                .subject(UUID.randomUUID().toString())
+                .expiration(new Date(System.currentTimeMillis() + millis))
+                .build();
+    }
+}
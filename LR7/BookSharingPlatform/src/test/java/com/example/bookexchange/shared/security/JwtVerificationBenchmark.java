@@ -0,0 +1,48 @@
+package com.example.bookexchange.shared.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtVerificationBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 200_000;
+
+    @Test
+    void cachedResolve_vsValidateThenParse() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("benchmark-secret-key-for-hmac-signing-32-chars");
+        properties.setExpirationMs(3_600_000);
+        JwtUtil jwtUtil = new JwtUtil(properties);
+        JwtTokenCache tokenCache = new JwtTokenCache(jwtUtil, properties, new SimpleMeterRegistry());
+        String token = jwtUtil.generateToken(UUID.randomUUID(), "bench", "bench@example.com");
+
+        double legacy = measure("isValid + parseClaims", token, t -> {
+            if (jwtUtil.isValid(t)) {
+                jwtUtil.parseClaims(t);
+            }
+        });
+        double cached = measure("JwtTokenCache.resolve", token, tokenCache::resolve);
+
+        System.out.printf("speedup: %.1fx%n", legacy / cached);
+        assertTrue(cached < legacy);
+    }
+
+    private double measure(String name, String token, Consumer<String> action) {
+        for (int i = 0; i < WARMUP; i++) {
+            action.accept(token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            action.accept(token);
+        }
+        double nanosPerOp = (double) (System.nanoTime() - start) / ITERATIONS;
+        System.out.printf("%-25s %10.0f ns/op%n", name, nanosPerOp);
+        return nanosPerOp;
+    }
+}